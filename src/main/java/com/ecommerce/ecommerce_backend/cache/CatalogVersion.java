@@ -0,0 +1,55 @@
+package com.ecommerce.ecommerce_backend.cache;
+
+import com.ecommerce.ecommerce_backend.event.CategoryChangedEvent;
+import com.ecommerce.ecommerce_backend.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_backend.event.ProductsImportedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class CatalogVersion {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong products = new AtomicLong();
+    private final AtomicLong categories = new AtomicLong();
+    private final AtomicLong imports = new AtomicLong();
+    private final Map<Long, Long> productVersions = new ConcurrentHashMap<>();
+
+    public String productsEtag() {
+        return etag("p", products.get() + "." + categories.get());
+    }
+
+    public String productEtag(Long productId) {
+        return etag("p" + productId, productVersions.getOrDefault(productId, 0L) + "." + categories.get() + "." + imports.get());
+    }
+
+    public String categoriesEtag() {
+        return etag("c", Long.toString(categories.get()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        productVersions.merge(event.getProductId(), 1L, Long::sum);
+        products.incrementAndGet();
+    }
+
+    /** Bulk imports bump one shared counter rather than tracking a version per imported product. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        imports.incrementAndGet();
+        products.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categories.incrementAndGet();
+        products.incrementAndGet();
+    }
+
+    private String etag(String scope, String version) {
+        return "\"" + scope + "-" + epoch + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.ecommerce_backend.cache;
+
+import com.ecommerce.ecommerce_backend.config.HttpCacheProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class ConditionalGet {
+    private final HttpCacheProperties properties;
+
+    public <T> ResponseEntity<T> respond(WebRequest request, String etag, String endpoint, Supplier<T> body) {
+        return respondOptional(request, etag, endpoint, () -> Optional.ofNullable(body.get()));
+    }
+
+    public <T> ResponseEntity<T> respondOptional(WebRequest request, String etag, String endpoint,
+                                                 Supplier<Optional<T>> body) {
+        String cacheControl = properties.cacheControlFor(endpoint);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
+        }
+        return body.get()
+                .map(value -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                        .body(value))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.ecommerce_backend.cache;
+
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.event.CategoryChangedEvent;
+import com.ecommerce.ecommerce_backend.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_backend.event.ProductsImportedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class ProductCache {
+    private final Cache<Long, ProductDto> cache;
+
+    public ProductCache(@Value("${product.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${product.cache.ttl:PT5M}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    public Optional<ProductDto> get(Long id, Function<Long, ProductDto> loader) {
+        return Optional.ofNullable(cache.get(id, loader));
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        cache.invalidateAll(event.getProducts().stream().map(ProductDto::getId).toList());
+    }
+
+    /** Cached products embed their category name, so a category change can make any entry stale. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidateAll();
+    }
+}
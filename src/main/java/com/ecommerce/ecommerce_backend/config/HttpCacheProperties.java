@@ -0,0 +1,20 @@
+package com.ecommerce.ecommerce_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "http.cache")
+public class HttpCacheProperties {
+    private String defaultCacheControl = "no-cache";
+    private Map<String, String> cacheControl = new HashMap<>();
+
+    public String cacheControlFor(String endpoint) {
+        return cacheControl.getOrDefault(endpoint, defaultCacheControl);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.ecommerce_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "payment")
+public class PaymentProperties {
+    private String gateway = "stripe";
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(5);
+    private int maxNetworkRetries = 1;
+    private Bulkhead bulkhead = new Bulkhead();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Stub stub = new Stub();
+
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 20;
+        private Duration maxWait = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Stub {
+        private Duration latency = Duration.ofMillis(50);
+        private String status = "succeeded";
+    }
+}
@@ -1,10 +1,10 @@
 package com.ecommerce.ecommerce_backend.controller;
 
 import com.ecommerce.ecommerce_backend.entity.Cart;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
 import com.ecommerce.ecommerce_backend.service.CartService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @CrossOrigin("*")
@@ -15,26 +15,26 @@ public class CartController {
     private CartService cartService;
 
     @PostMapping("/add")
-    public ResponseEntity<Cart> addToCart(@RequestParam Long productId, @RequestParam int quantity, Authentication authentication) {
-        Cart cart = cartService.addToCart(productId, quantity, authentication);
+    public ResponseEntity<Cart> addToCart(@RequestParam Long productId, @RequestParam int quantity, CurrentUser currentUser) {
+        Cart cart = cartService.addToCart(productId, quantity, currentUser);
         return ResponseEntity.ok(cart);
     }
 
     @GetMapping
-    public ResponseEntity<Cart> getCart(Authentication authentication) {
-        Cart cart = cartService.getCart(authentication);
+    public ResponseEntity<Cart> getCart(CurrentUser currentUser) {
+        Cart cart = cartService.getCart(currentUser);
         return ResponseEntity.ok(cart);
     }
 
     @PutMapping("/update")
-    public ResponseEntity<Cart> updateCartItem(@RequestParam Long cartItemId, @RequestParam int quantity, Authentication authentication) {
-        Cart cart = cartService.updateCartItem(cartItemId, quantity, authentication);
+    public ResponseEntity<Cart> updateCartItem(@RequestParam Long cartItemId, @RequestParam int quantity, CurrentUser currentUser) {
+        Cart cart = cartService.updateCartItem(cartItemId, quantity, currentUser);
         return ResponseEntity.ok(cart);
     }
 
     @DeleteMapping("/remove")
-    public ResponseEntity<Cart> removeCartItem(@RequestParam Long cartItemId, Authentication authentication) {
-        Cart cart = cartService.removeCartItem(cartItemId, authentication);
+    public ResponseEntity<Cart> removeCartItem(@RequestParam Long cartItemId, CurrentUser currentUser) {
+        Cart cart = cartService.removeCartItem(cartItemId, currentUser);
         return ResponseEntity.ok(cart);
     }
 }
@@ -1,10 +1,14 @@
 package com.ecommerce.ecommerce_backend.controller;
 
+import com.ecommerce.ecommerce_backend.cache.CatalogVersion;
+import com.ecommerce.ecommerce_backend.cache.ConditionalGet;
 import com.ecommerce.ecommerce_backend.entity.Category;
 import com.ecommerce.ecommerce_backend.service.CategoryService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,9 +21,16 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ConditionalGet conditionalGet;
+
     @GetMapping
-    public List<Category> getAllCategories() {
-        return categoryService.getAllCategories();
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest request) {
+        return conditionalGet.respond(request, catalogVersion.categoriesEtag(), "categories",
+                categoryService::getAllCategories);
     }
 
     @GetMapping("/{id}")
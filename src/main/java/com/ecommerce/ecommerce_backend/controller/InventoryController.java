@@ -0,0 +1,44 @@
+package com.ecommerce.ecommerce_backend.controller;
+
+import com.ecommerce.ecommerce_backend.dto.HotStockStatus;
+import com.ecommerce.ecommerce_backend.inventory.InventoryService;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin("*")
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/inventory")
+public class InventoryController {
+    @Autowired
+    private InventoryService inventoryService;
+
+    @GetMapping("/{productId}/hot")
+    public ResponseEntity<HotStockStatus> getHotStock(@PathVariable Long productId, CurrentUser currentUser) {
+        requireAdmin(currentUser);
+        return ResponseEntity.ok(inventoryService.hotStock(productId));
+    }
+
+    @PutMapping("/{productId}/hot")
+    public ResponseEntity<HotStockStatus> enableHotMode(@PathVariable Long productId, CurrentUser currentUser) {
+        requireAdmin(currentUser);
+        inventoryService.enableHotMode(productId);
+        return ResponseEntity.ok(inventoryService.hotStock(productId));
+    }
+
+    @DeleteMapping("/{productId}/hot")
+    public ResponseEntity<HotStockStatus> disableHotMode(@PathVariable Long productId, CurrentUser currentUser) {
+        requireAdmin(currentUser);
+        inventoryService.disableHotMode(productId);
+        return ResponseEntity.ok(inventoryService.hotStock(productId));
+    }
+
+    private static void requireAdmin(CurrentUser currentUser) {
+        if (!currentUser.isAdmin()) {
+            throw new RuntimeException("Only admins can manage hot inventory");
+        }
+    }
+}
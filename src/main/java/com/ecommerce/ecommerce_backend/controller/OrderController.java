@@ -1,17 +1,26 @@
 package com.ecommerce.ecommerce_backend.controller;
 
+import com.ecommerce.ecommerce_backend.dto.CursorPage;
+import com.ecommerce.ecommerce_backend.dto.OrderHandle;
+import com.ecommerce.ecommerce_backend.dto.OrderHistoryRequest;
 import com.ecommerce.ecommerce_backend.entity.Cart;
 import com.ecommerce.ecommerce_backend.entity.Order;
 import com.ecommerce.ecommerce_backend.entity.OrderStatus;
 import com.ecommerce.ecommerce_backend.service.CartService;
+import com.ecommerce.ecommerce_backend.service.OrderIdempotency;
+import com.ecommerce.ecommerce_backend.service.OrderPipeline;
 import com.ecommerce.ecommerce_backend.service.OrderService;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 
 @CrossOrigin("*")
 @RestController
@@ -23,39 +32,77 @@ public class OrderController {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private OrderPipeline orderPipeline;
+
+    @Autowired
+    private OrderIdempotency orderIdempotency;
+
     @PostMapping
-    public ResponseEntity<Order> placeOrder(@RequestBody PaymentConfirmation paymentConfirmation, Authentication authentication) {
-        Order order = orderService.placeOrder(authentication, paymentConfirmation.getPaymentIntentId(), paymentConfirmation.getDiscountCode());
+    public ResponseEntity<Order> placeOrder(@RequestBody PaymentConfirmation paymentConfirmation,
+                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                            CurrentUser currentUser) {
+        String paymentIntentId = paymentConfirmation.getPaymentIntentId();
+        String key = orderIdempotency.resolveKey(currentUser, idempotencyKey, paymentIntentId);
+        Order order = orderIdempotency.execute(key, paymentIntentId, currentUser,
+                resolvedKey -> orderService.placeOrder(currentUser, paymentIntentId, paymentConfirmation.getDiscountCode(), resolvedKey));
         return ResponseEntity.ok(order);
     }
 
+    @PostMapping("/queue")
+    public ResponseEntity<OrderHandle> queueOrder(@RequestBody PaymentConfirmation paymentConfirmation,
+                                                  @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                  CurrentUser currentUser) {
+        try {
+            OrderHandle handle = orderPipeline.submit(currentUser, paymentConfirmation.getPaymentIntentId(),
+                    paymentConfirmation.getDiscountCode(), idempotencyKey);
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, "/api/order/" + handle.getOrderId() + "/status")
+                    .body(handle);
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    @GetMapping("/{orderId}/status")
+    public ResponseEntity<OrderHandle> getOrderStatus(@PathVariable Long orderId, CurrentUser currentUser) {
+        return ResponseEntity.ok(orderPipeline.status(orderId, currentUser));
+    }
+
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToOrder(@PathVariable Long orderId, CurrentUser currentUser) {
+        return orderPipeline.subscribe(orderId, currentUser);
+    }
+
     @GetMapping
-    public ResponseEntity<List<Order>> getOrders(Authentication authentication) {
-        List<Order> orders = orderService.getUserOrders(authentication);
+    public ResponseEntity<CursorPage<Order>> getOrders(OrderHistoryRequest request, CurrentUser currentUser) {
+        CursorPage<Order> orders = orderService.getUserOrders(currentUser, request);
         return ResponseEntity.ok(orders);
     }
 
     @DeleteMapping("/{orderId}")
-    public ResponseEntity<Order> cancelOrder(@PathVariable Long orderId, Authentication authentication) {
-        Order order = orderService.cancelOrder(orderId, authentication);
+    public ResponseEntity<Order> cancelOrder(@PathVariable Long orderId, CurrentUser currentUser) {
+        Order order = orderService.cancelOrder(orderId, currentUser);
         return ResponseEntity.ok(order);
     }
 
     @PutMapping("/{orderId}/status")
-    public ResponseEntity<Order> updateOrderStatus(@PathVariable Long orderId, @RequestParam OrderStatus orderStatus, Authentication authentication) {
-        Order order = orderService.updateOrderStatus(orderId, orderStatus, authentication);
+    public ResponseEntity<Order> updateOrderStatus(@PathVariable Long orderId, @RequestParam OrderStatus orderStatus, CurrentUser currentUser) {
+        Order order = orderService.updateOrderStatus(orderId, orderStatus, currentUser);
         return ResponseEntity.ok(order);
     }
 
     @GetMapping("/{orderId}")
-    public ResponseEntity<Order> getOrderDetails(@PathVariable Long orderId, Authentication authentication) {
-        Order order = orderService.getOrderDetails(orderId, authentication);
+    public ResponseEntity<Order> getOrderDetails(@PathVariable Long orderId, CurrentUser currentUser) {
+        Order order = orderService.getOrderDetails(orderId, currentUser);
         return ResponseEntity.ok(order);
     }
 
     @PostMapping("/create-payment-intent")
-    public ResponseEntity<String> createPaymentIntent(@RequestBody PaymentRequest paymentRequest, Authentication authentication) {
-        Cart cart = cartService.getCart(authentication);
+    public ResponseEntity<String> createPaymentIntent(@RequestBody PaymentRequest paymentRequest, CurrentUser currentUser) {
+        Cart cart = cartService.getCart(currentUser);
         double totalPrice = cart.getItems().stream()
                 .mapToDouble(item -> item.getProduct().getPrice() * item.getQuantity())
                 .sum();
@@ -0,0 +1,29 @@
+package com.ecommerce.ecommerce_backend.controller;
+
+import com.ecommerce.ecommerce_backend.payment.PaymentGatewayException;
+import com.ecommerce.ecommerce_backend.payment.PaymentStatusCache;
+import com.ecommerce.ecommerce_backend.payment.PaymentWebhookVerifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payment")
+public class PaymentWebhookController {
+    @Autowired
+    private PaymentWebhookVerifier paymentWebhookVerifier;
+
+    @Autowired
+    private PaymentStatusCache paymentStatusCache;
+
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> handleWebhook(@RequestBody String payload,
+                                              @RequestHeader(value = "Stripe-Signature", required = false) String signature) {
+        try {
+            paymentWebhookVerifier.parse(payload, signature).ifPresent(paymentStatusCache::record);
+            return ResponseEntity.ok().build();
+        } catch (PaymentGatewayException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
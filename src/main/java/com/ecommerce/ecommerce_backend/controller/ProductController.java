@@ -1,13 +1,34 @@
 package com.ecommerce.ecommerce_backend.controller;
 
+import com.ecommerce.ecommerce_backend.cache.CatalogVersion;
+import com.ecommerce.ecommerce_backend.cache.ConditionalGet;
+import com.ecommerce.ecommerce_backend.dto.CursorPage;
+import com.ecommerce.ecommerce_backend.dto.FacetedPage;
+import com.ecommerce.ecommerce_backend.dto.ImportReport;
 import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.dto.ProductFilter;
+import com.ecommerce.ecommerce_backend.dto.ProductPageRequest;
+import com.ecommerce.ecommerce_backend.dto.ProductSuggestion;
 import com.ecommerce.ecommerce_backend.entity.Product;
+import com.ecommerce.ecommerce_backend.search.ProductSuggester;
 import com.ecommerce.ecommerce_backend.service.CategoryService;
+import com.ecommerce.ecommerce_backend.service.ProductExportService;
+import com.ecommerce.ecommerce_backend.service.ProductFeedFormat;
+import com.ecommerce.ecommerce_backend.service.ProductImportService;
 import com.ecommerce.ecommerce_backend.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @CrossOrigin("*")
@@ -18,27 +39,46 @@ public class ProductController {
 
     private final ProductService productService;
     private final CategoryService categoryService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final CatalogVersion catalogVersion;
+    private final ConditionalGet conditionalGet;
+    private final ProductSuggester productSuggester;
 
     @GetMapping
-    public List<ProductDto> getAllProducts() {
-        return productService.getAllProducts();
+    public ResponseEntity<CursorPage<ProductDto>> getAllProducts(ProductPageRequest pageRequest, WebRequest request) {
+        return conditionalGet.respond(request, catalogVersion.productsEtag(), "products",
+                () -> productService.getAllProducts(pageRequest));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDto> getProductById(@PathVariable("id") Long id) {
-        return productService.getProductById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<ProductDto> getProductById(@PathVariable("id") Long id, WebRequest request) {
+        return conditionalGet.respondOptional(request, catalogVersion.productEtag(id), "product",
+                () -> productService.getProductById(id));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ProductDto>> searchProducts(@RequestParam String query) {
-        return ResponseEntity.ok(productService.searchProducts(query));
+    public ResponseEntity<CursorPage<ProductDto>> searchProducts(@RequestParam String query, ProductPageRequest pageRequest, WebRequest request) {
+        return conditionalGet.respond(request, catalogVersion.productsEtag(), "search",
+                () -> productService.searchProducts(query, pageRequest));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggestProducts(@RequestParam String prefix,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productSuggester.suggest(prefix, limit));
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<ProductDto>> getProductsByCategory(@PathVariable("categoryId") Long categoryId) {
-        return ResponseEntity.ok(productService.getProductsByCategory(categoryId));
+    public ResponseEntity<CursorPage<ProductDto>> getProductsByCategory(@PathVariable("categoryId") Long categoryId, ProductPageRequest pageRequest, WebRequest request) {
+        return conditionalGet.respond(request, catalogVersion.productsEtag(), "products",
+                () -> productService.getProductsByCategory(categoryId, pageRequest));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<FacetedPage<ProductDto>> filterProducts(ProductFilter filter, ProductPageRequest pageRequest, WebRequest request) {
+        return conditionalGet.respond(request, catalogVersion.productsEtag(), "products",
+                () -> productService.filterProducts(filter, pageRequest));
     }
 
     @PostMapping("/upload")
@@ -46,6 +86,26 @@ public class ProductController {
         return ResponseEntity.ok(productService.createProduct(product, categoryId));
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importProducts(HttpServletRequest request) throws IOException {
+        ProductFeedFormat format = ProductFeedFormat.fromContentType(request.getContentType());
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        Reader reader = new InputStreamReader(request.getInputStream(), charset);
+        return ResponseEntity.ok(productImportService.importProducts(reader, format));
+    }
+
+    @GetMapping("/export")
+    public void exportProducts(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        ProductFeedFormat feedFormat = "csv".equalsIgnoreCase(format) ? ProductFeedFormat.CSV : ProductFeedFormat.NDJSON;
+        response.setContentType(feedFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"products." + feedFormat.name().toLowerCase() + "\"");
+        productExportService.export(response.getOutputStream(), feedFormat);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductDto> updateProduct(@PathVariable("id") Long id, @RequestBody Product product) {
         return ResponseEntity.ok(productService.updateProduct(id, product));
@@ -1,11 +1,11 @@
 package com.ecommerce.ecommerce_backend.controller;
 
 import com.ecommerce.ecommerce_backend.dto.ReviewDto;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
 import com.ecommerce.ecommerce_backend.service.ReviewService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,13 +23,13 @@ public class ReviewController {
             @RequestParam Long productId,
             @RequestParam int rating,
             @RequestParam String comment,
-            Authentication authentication) {
-        return ResponseEntity.ok(reviewService.addReview(productId, rating, comment, authentication));
+            CurrentUser currentUser) {
+        return ResponseEntity.ok(reviewService.addReview(productId, rating, comment, currentUser));
     }
 
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<ReviewDto>> getProductReviews(@PathVariable Long productId, Authentication authentication) {
-        return ResponseEntity.ok(reviewService.getProductReviews(productId, authentication));
+    public ResponseEntity<List<ReviewDto>> getProductReviews(@PathVariable Long productId, CurrentUser currentUser) {
+        return ResponseEntity.ok(reviewService.getProductReviews(productId, currentUser));
     }
 
     @PutMapping("/{reviewId}")
@@ -37,18 +37,18 @@ public class ReviewController {
             @PathVariable Long reviewId,
             @RequestParam int rating,
             @RequestParam String comment,
-            Authentication authentication) {
-        return ResponseEntity.ok(reviewService.editReview(reviewId, rating, comment, authentication));
+            CurrentUser currentUser) {
+        return ResponseEntity.ok(reviewService.editReview(reviewId, rating, comment, currentUser));
     }
 
     @PutMapping("/{reviewId}/approve")
-    public ResponseEntity<ReviewDto> approveReview(@PathVariable Long reviewId, Authentication authentication) {
-        return ResponseEntity.ok(reviewService.approveReview(reviewId, authentication));
+    public ResponseEntity<ReviewDto> approveReview(@PathVariable Long reviewId, CurrentUser currentUser) {
+        return ResponseEntity.ok(reviewService.approveReview(reviewId, currentUser));
     }
 
     @DeleteMapping("/{reviewId}")
-    public ResponseEntity<Void> deleteReview(@PathVariable Long reviewId, Authentication authentication) {
-        reviewService.deleteReview(reviewId, authentication);
+    public ResponseEntity<Void> deleteReview(@PathVariable Long reviewId, CurrentUser currentUser) {
+        reviewService.deleteReview(reviewId, currentUser);
         return ResponseEntity.noContent().build();
     }
 }
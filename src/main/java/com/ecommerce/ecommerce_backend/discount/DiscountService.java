@@ -0,0 +1,147 @@
+package com.ecommerce.ecommerce_backend.discount;
+
+import com.ecommerce.ecommerce_backend.entity.DiscountCode;
+import com.ecommerce.ecommerce_backend.repository.DiscountCodeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class DiscountService implements SmartInitializingSingleton {
+    private final DiscountCodeRepository discountCodeRepository;
+
+    private final Map<Long, RedemptionCounter> counters = new ConcurrentHashMap<>();
+    private volatile Map<String, DiscountCode> activeCodes = Map.of();
+
+    public DiscountCode validate(String code, Long userId) {
+        DiscountCode discount = activeCode(code);
+        if (!counterFor(discount).canAcquire(userId, discount.getMaxUses(), discount.getMaxUsesPerUser(),
+                id -> discountCodeRepository.countRedemptionsByUser(code, id))) {
+            throw new RuntimeException("Discount code usage limit reached");
+        }
+        return discount;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public DiscountCode redeem(String code, Long userId) {
+        DiscountCode discount = activeCode(code);
+
+        RedemptionCounter counter = counterFor(discount);
+        if (!counter.tryAcquire(userId, discount.getMaxUses(), discount.getMaxUsesPerUser(),
+                id -> discountCodeRepository.countRedemptionsByUser(code, id))) {
+            throw new RuntimeException("Discount code usage limit reached");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    counter.committed(1);
+                } else {
+                    counter.release(userId);
+                }
+            }
+        });
+        return discount;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void redemptionCancelled(String code, Long userId) {
+        discountCodeRepository.findByCode(code).ifPresent(discount -> {
+            discountCodeRepository.addRedemptions(discount.getId(), -1);
+            RedemptionCounter counter = counters.get(discount.getId());
+            if (counter != null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        counter.release(userId);
+                    }
+                });
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void redemptionReinstated(String code, Long userId) {
+        discountCodeRepository.findByCode(code).ifPresent(discount -> {
+            discountCodeRepository.addRedemptions(discount.getId(), 1);
+            RedemptionCounter counter = counters.get(discount.getId());
+            if (counter != null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        counter.reinstate(userId);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Runs once every singleton exists, before schedulers, order workers and the web server start,
+     * so no redemption ever sees the empty snapshot.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        discountCodeRepository.rebuildRedemptionCounts();
+        counters.clear();
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${discount.cache.refresh-interval-ms:30000}", initialDelayString = "${discount.cache.refresh-interval-ms:30000}")
+    public void refresh() {
+        List<DiscountCode> codes = discountCodeRepository.findByActiveTrue();
+        codes.forEach(this::counterFor);
+        activeCodes = codes.stream()
+                .collect(Collectors.toUnmodifiableMap(DiscountCode::getCode, Function.identity(), (first, second) -> first));
+    }
+
+    @Scheduled(fixedDelayString = "${discount.redemptions.flush-interval-ms:5000}")
+    public void flush() {
+        counters.forEach((id, counter) -> {
+            int delta = counter.drainUnflushed();
+            if (delta == 0) {
+                return;
+            }
+            try {
+                discountCodeRepository.addRedemptions(id, delta);
+            } catch (RuntimeException e) {
+                counter.committed(delta);
+                throw e;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private DiscountCode activeCode(String code) {
+        DiscountCode discount = activeCodes.get(code);
+        if (discount == null) {
+            throw new RuntimeException("Invalid or inactive discount code");
+        }
+        return discount;
+    }
+
+    private RedemptionCounter counterFor(DiscountCode discount) {
+        return counters.computeIfAbsent(discount.getId(), id -> new RedemptionCounter(discount.getRedemptionCount()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.ecommerce.ecommerce_backend.discount;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+class RedemptionCounter {
+    private final AtomicInteger total;
+    private final AtomicInteger unflushed = new AtomicInteger();
+    private final Map<Long, AtomicInteger> perUser = new ConcurrentHashMap<>();
+
+    RedemptionCounter(int redeemed) {
+        this.total = new AtomicInteger(redeemed);
+    }
+
+    boolean tryAcquire(Long userId, Integer maxUses, Integer maxUsesPerUser, ToIntFunction<Long> userRedemptions) {
+        if (!increment(total, maxUses)) {
+            return false;
+        }
+        if (maxUsesPerUser != null) {
+            AtomicInteger mine = perUser.computeIfAbsent(userId, id -> new AtomicInteger(userRedemptions.applyAsInt(id)));
+            if (!increment(mine, maxUsesPerUser)) {
+                total.decrementAndGet();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean canAcquire(Long userId, Integer maxUses, Integer maxUsesPerUser, ToIntFunction<Long> userRedemptions) {
+        if (maxUses != null && total.get() >= maxUses) {
+            return false;
+        }
+        if (maxUsesPerUser != null) {
+            AtomicInteger mine = perUser.computeIfAbsent(userId, id -> new AtomicInteger(userRedemptions.applyAsInt(id)));
+            return mine.get() < maxUsesPerUser;
+        }
+        return true;
+    }
+
+    void release(Long userId) {
+        total.decrementAndGet();
+        AtomicInteger mine = perUser.get(userId);
+        if (mine != null) {
+            mine.decrementAndGet();
+        }
+    }
+
+    void reinstate(Long userId) {
+        total.incrementAndGet();
+        AtomicInteger mine = perUser.get(userId);
+        if (mine != null) {
+            mine.incrementAndGet();
+        }
+    }
+
+    void committed(int delta) {
+        unflushed.addAndGet(delta);
+    }
+
+    int drainUnflushed() {
+        return unflushed.getAndSet(0);
+    }
+
+    int redeemed() {
+        return total.get();
+    }
+
+    private static boolean increment(AtomicInteger counter, Integer limit) {
+        while (true) {
+            int current = counter.get();
+            if (limit != null && current >= limit) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
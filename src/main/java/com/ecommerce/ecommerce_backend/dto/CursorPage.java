@@ -0,0 +1,23 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private List<T> items;
+    private String nextCursor;
+
+    /** Shared bound for every cursor-paged endpoint; out-of-range sizes are rejected rather than clamped. */
+    public static int validateSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+}
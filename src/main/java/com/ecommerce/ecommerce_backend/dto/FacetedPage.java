@@ -0,0 +1,14 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class FacetedPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private ProductFacets facets;
+}
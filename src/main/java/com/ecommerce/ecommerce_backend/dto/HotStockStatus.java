@@ -0,0 +1,14 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotStockStatus {
+    private Long productId;
+    private boolean hot;
+    private Integer available;
+}
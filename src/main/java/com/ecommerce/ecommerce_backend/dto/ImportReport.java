@@ -0,0 +1,35 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReport {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long processed;
+    private long inserted;
+    private long updated;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void fail(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
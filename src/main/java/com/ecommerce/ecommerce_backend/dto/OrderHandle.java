@@ -0,0 +1,25 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import com.ecommerce.ecommerce_backend.entity.Order;
+import com.ecommerce.ecommerce_backend.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHandle {
+    private Long orderId;
+    private OrderStatus status;
+    private double totalPrice;
+    private String failureReason;
+
+    public static OrderHandle of(Order order) {
+        return new OrderHandle(order.getId(), order.getOrderStatus(), order.getTotalPrice(), order.getFailureReason());
+    }
+
+    public boolean isSettled() {
+        return status != OrderStatus.QUEUED && status != OrderStatus.PROCESSING;
+    }
+}
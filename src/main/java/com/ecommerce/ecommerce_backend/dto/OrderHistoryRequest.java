@@ -0,0 +1,20 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import com.ecommerce.ecommerce_backend.entity.OrderStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class OrderHistoryRequest {
+    private String cursor;
+    private int size = 20;
+    private OrderStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
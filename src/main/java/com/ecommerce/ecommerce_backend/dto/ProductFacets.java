@@ -0,0 +1,13 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ProductFacets {
+    private List<FacetCount> categories = new ArrayList<>();
+    private List<FacetCount> priceRanges = new ArrayList<>();
+    private List<FacetCount> ratingBands = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ProductFilter {
+    private Double minPrice;
+    private Double maxPrice;
+    private Double minRating;
+    private List<Long> categoryIds;
+    private Boolean inStock;
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class ProductPageRequest {
+    private String sort;
+    private String direction = "asc";
+    private String cursor;
+    private int size = 20;
+}
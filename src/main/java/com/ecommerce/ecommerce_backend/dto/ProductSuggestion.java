@@ -0,0 +1,11 @@
+package com.ecommerce.ecommerce_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductSuggestion {
+    private Long id;
+    private String name;
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Data
@@ -18,4 +19,10 @@ public class DiscountCode {
     private String code;
     private double discountPercentage;
     private boolean active;
+
+    private Integer maxUses;
+    private Integer maxUsesPerUser;
+
+    @ColumnDefault("0")
+    private int redemptionCount;
 }
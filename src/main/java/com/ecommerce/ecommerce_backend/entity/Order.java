@@ -11,7 +11,10 @@ import java.util.List;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_date_id", columnList = "user_id, orderDate, id"),
+        @Index(name = "idx_orders_discount_code_user", columnList = "discountCode, user_id")
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +29,10 @@ public class Order {
 
     private LocalDateTime orderDate;
 
+    private Double subtotal;
+
+    private Double discount;
+
     private double totalPrice;
 
     @Enumerated(EnumType.STRING)
@@ -35,14 +42,30 @@ public class Order {
         this.user = user;
         this.items = items;
         this.orderDate = orderDate;
-        this.totalPrice = calculateTotalPrice();
+        this.subtotal = calculateSubtotal();
+        this.discount = 0.0;
+        this.totalPrice = subtotal;
     }
 
-    private double calculateTotalPrice() {
+    public double calculateSubtotal() {
         return items.stream()
-                .mapToDouble(item -> item.getProduct().getPrice() * item.getQuantity())
+                .mapToDouble(OrderItem::getLineTotal)
                 .sum();
     }
 
+    public void applyDiscount(double amount) {
+        this.discount = amount;
+        this.totalPrice = subtotal - amount;
+    }
+
+    @Column(unique = true)
     private String paymentIntentId;
+
+    private String discountCode;
+
+    @Column(unique = true)
+    private String idempotencyKey;
+
+    @Column(length = 1000)
+    private String failureReason;
 }
@@ -1,5 +1,6 @@
 package com.ecommerce.ecommerce_backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,13 +13,28 @@ public class OrderItem {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id")
     private Product product;
 
+    @Column(name = "product_id", insertable = false, updatable = false)
+    private Long productId;
+
+    private String productName;
+
+    private Double unitPrice;
+
+    private Double lineTotal;
+
     private int quantity;
 
     public OrderItem(Product product, int quantity) {
         this.product = product;
+        this.productId = product.getId();
+        this.productName = product.getName();
+        this.unitPrice = product.getPrice();
         this.quantity = quantity;
+        this.lineTotal = unitPrice * quantity;
     }
 }
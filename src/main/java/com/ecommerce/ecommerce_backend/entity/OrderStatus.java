@@ -1,8 +1,18 @@
 package com.ecommerce.ecommerce_backend.entity;
 
 public enum OrderStatus {
+    QUEUED,
+    PROCESSING,
+    FAILED,
     PENDING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Whether an order in this status counts as a purchase: for review eligibility and discount usage caps.
+     */
+    public boolean countsAsPurchase() {
+        return this == PENDING || this == SHIPPED || this == DELIVERED;
+    }
 }
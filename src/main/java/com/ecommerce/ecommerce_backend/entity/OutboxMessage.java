@@ -0,0 +1,41 @@
+package com.ecommerce.ecommerce_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "outbox_message", indexes = @Index(name = "idx_outbox_status_next_attempt", columnList = "status, nextAttemptAt"))
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String dedupKey;
+
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition = "text")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
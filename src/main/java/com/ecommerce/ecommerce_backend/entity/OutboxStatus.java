@@ -0,0 +1,7 @@
+package com.ecommerce.ecommerce_backend.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.ecommerce_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+public class PaymentStatus {
+    @Id
+    private String paymentIntentId;
+
+    @Column(nullable = false)
+    private String status;
+
+    private long eventCreated;
+
+    private LocalDateTime updatedAt;
+}
@@ -2,9 +2,16 @@ package com.ecommerce.ecommerce_backend.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Data
+@Table(indexes = {
+        @Index(name = "idx_product_price_id", columnList = "price, id"),
+        @Index(name = "idx_product_name_id", columnList = "name, id"),
+        @Index(name = "idx_product_rating_id", columnList = "averageRating, id"),
+        @Index(name = "idx_product_category_id", columnList = "category_id, id")
+})
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -15,7 +22,13 @@ public class Product {
     private int stock;
     private String imageUrl;
 
-    @Transient
+    @ColumnDefault("0")
+    private int ratingCount;
+
+    @ColumnDefault("0")
+    private long ratingSum;
+
+    @ColumnDefault("0")
     private double averageRating;
 
     @ManyToOne(cascade = CascadeType.PERSIST)
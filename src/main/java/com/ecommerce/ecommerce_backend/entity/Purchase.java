@@ -0,0 +1,23 @@
+package com.ecommerce.ecommerce_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_purchase_user_product", columnNames = {"user_id", "product_id"}))
+public class Purchase {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    private int orderCount;
+}
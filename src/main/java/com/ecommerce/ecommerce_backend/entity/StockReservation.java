@@ -0,0 +1,29 @@
+package com.ecommerce.ecommerce_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_stock_reservation_product", columnList = "productId"))
+public class StockReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long productId;
+
+    private int quantity;
+
+    private LocalDateTime createdAt;
+
+    public StockReservation(Long productId, int quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.createdAt = LocalDateTime.now();
+    }
+}
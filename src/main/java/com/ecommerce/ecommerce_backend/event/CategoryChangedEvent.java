@@ -0,0 +1,10 @@
+package com.ecommerce.ecommerce_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+    private final Long categoryId;
+}
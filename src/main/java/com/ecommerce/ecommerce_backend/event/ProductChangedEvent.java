@@ -0,0 +1,41 @@
+package com.ecommerce.ecommerce_backend.event;
+
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STOCK_CHANGED,
+        RATING_CHANGED
+    }
+
+    private final Type type;
+    private final Long productId;
+    private final ProductDto product;
+
+    public static ProductChangedEvent created(ProductDto product) {
+        return new ProductChangedEvent(Type.CREATED, product.getId(), product);
+    }
+
+    public static ProductChangedEvent updated(ProductDto product) {
+        return new ProductChangedEvent(Type.UPDATED, product.getId(), product);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(Type.DELETED, productId, null);
+    }
+
+    public static ProductChangedEvent stockChanged(Long productId) {
+        return new ProductChangedEvent(Type.STOCK_CHANGED, productId, null);
+    }
+
+    public static ProductChangedEvent ratingChanged(Long productId) {
+        return new ProductChangedEvent(Type.RATING_CHANGED, productId, null);
+    }
+}
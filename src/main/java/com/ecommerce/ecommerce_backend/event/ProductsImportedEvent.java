@@ -0,0 +1,14 @@
+package com.ecommerce.ecommerce_backend.event;
+
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/** One committed import batch: the products it created or updated, published once instead of per row. */
+@Getter
+@AllArgsConstructor
+public class ProductsImportedEvent {
+    private final List<ProductDto> products;
+}
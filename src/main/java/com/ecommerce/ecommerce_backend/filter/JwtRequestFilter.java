@@ -1,7 +1,8 @@
 package com.ecommerce.ecommerce_backend.filter;
 
-import com.ecommerce.ecommerce_backend.service.UserService;
-import com.ecommerce.ecommerce_backend.utils.JwtUtil;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
+import com.ecommerce.ecommerce_backend.security.TokenRevocationCheck;
+import com.ecommerce.ecommerce_backend.security.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +11,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,32 +22,25 @@ import java.util.List;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
-    private UserService userService;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private TokenRevocationCheck tokenRevocationCheck;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
         throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if(authorizationHeader != null && authorizationHeader.startsWith("Bearer")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
-
-        if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userService.loadUserByUsername(username);
-            if(jwtUtil.validateToken(jwt, userDetails.getUsername())) {
-                List<SimpleGrantedAuthority> authorities = Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + jwtUtil.extractClaim(jwt, claims -> claims.get("role", String.class)))
-                );
+        if(authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            CurrentUser user = verifiedTokenCache.verify(authorizationHeader.substring(7));
+            if(user != null && user.username() != null && !tokenRevocationCheck.isRevoked(user)) {
+                List<SimpleGrantedAuthority> authorities = user.role() == null
+                        ? Collections.emptyList()
+                        : Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.role()));
                 UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(user, null, authorities);
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
@@ -0,0 +1,221 @@
+package com.ecommerce.ecommerce_backend.inventory;
+
+import com.ecommerce.ecommerce_backend.entity.StockReservation;
+import com.ecommerce.ecommerce_backend.dto.HotStockStatus;
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_backend.event.ProductsImportedEvent;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.repository.StockReservationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryService {
+    private static final String FLUSH_SQL = "WITH moved AS (DELETE FROM stock_reservation RETURNING product_id, quantity), " +
+            "totals AS (SELECT product_id, SUM(quantity) AS total FROM moved GROUP BY product_id) " +
+            "UPDATE product p SET stock = p.stock - t.total FROM totals t WHERE p.id = t.product_id " +
+            "RETURNING p.id";
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, StripedCounter> hotCounters = new ConcurrentHashMap<>();
+    private final AtomicBoolean pendingFlush = new AtomicBoolean();
+
+    @Value("${inventory.hot.enabled:false}")
+    private boolean hotModeEnabled;
+
+    @Value("${inventory.hot.product-ids:}")
+    private List<Long> configuredHotProductIds;
+
+    @Value("${inventory.hot.stripes:0}")
+    private int stripes;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reserve(Long productId, int quantity) {
+        StripedCounter counter = hotCounters.get(productId);
+        if (counter == null) {
+            if (productRepository.decrementStock(productId, quantity) == 0) {
+                return false;
+            }
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(productId));
+            return true;
+        }
+
+        counter.enter();
+        boolean acquired;
+        try {
+            acquired = counter.tryAcquire(quantity);
+        } catch (RuntimeException e) {
+            counter.exit();
+            throw e;
+        }
+        if (!acquired) {
+            counter.exit();
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        pendingFlush.set(true);
+                    } else {
+                        counter.release(quantity);
+                    }
+                } finally {
+                    counter.exit();
+                }
+            }
+        });
+        stockReservationRepository.save(new StockReservation(productId, quantity));
+        return true;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long productId, int quantity) {
+        StripedCounter counter = hotCounters.get(productId);
+        if (counter != null) {
+            counter.enter();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        if (status == STATUS_COMMITTED) {
+                            counter.release(quantity);
+                        }
+                    } finally {
+                        counter.exit();
+                    }
+                }
+            });
+        }
+
+        productRepository.incrementStock(productId, quantity);
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(productId));
+    }
+
+    public void enableHotMode(Long productId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            StripedCounter counter = new StripedCounter(stripeCount());
+            if (hotCounters.putIfAbsent(productId, counter) != null) {
+                counter.seed(0);
+                return;
+            }
+            try {
+                counter.seed(availableStock(productId));
+            } catch (RuntimeException e) {
+                hotCounters.remove(productId, counter);
+                counter.seed(0);
+                throw e;
+            }
+        });
+    }
+
+    public void disableHotMode(Long productId) {
+        StripedCounter counter = hotCounters.remove(productId);
+        if (counter != null) {
+            counter.quiesce();
+            flush();
+        }
+    }
+
+    public HotStockStatus hotStock(Long productId) {
+        StripedCounter counter = hotCounters.get(productId);
+        return counter == null
+                ? new HotStockStatus(productId, false, null)
+                : new HotStockStatus(productId, true, counter.available());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hot.flush-interval-ms:200}")
+    public int flushPending() {
+        if (!pendingFlush.getAndSet(false)) {
+            return 0;
+        }
+        return flush();
+    }
+
+    public int flush() {
+        List<Long> flushed = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(FLUSH_SQL, Long.class);
+            ids.forEach(id -> eventPublisher.publishEvent(ProductChangedEvent.stockChanged(id)));
+            return ids;
+        });
+        return flushed == null ? 0 : flushed.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        flush();
+        if (hotModeEnabled && configuredHotProductIds != null) {
+            configuredHotProductIds.stream()
+                    .filter(productRepository::existsById)
+                    .forEach(this::enableHotMode);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        StripedCounter counter = hotCounters.get(event.getProductId());
+        if (counter == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case UPDATED -> transactionTemplate.executeWithoutResult(status ->
+                    counter.reset(() -> availableStock(event.getProductId())));
+            case DELETED -> hotCounters.remove(event.getProductId());
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        for (ProductDto product : event.getProducts()) {
+            StripedCounter counter = hotCounters.get(product.getId());
+            if (counter != null) {
+                transactionTemplate.executeWithoutResult(status ->
+                        counter.reset(() -> availableStock(product.getId())));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private int availableStock(Long productId) {
+        Integer available = transactionTemplate.execute(status -> productRepository.findByIdForUpdate(productId)
+                .map(product -> product.getStock() - (int) stockReservationRepository.sumPendingByProductId(productId))
+                .orElseThrow(() -> new IllegalStateException("Product with ID " + productId + " not found")));
+        return available == null ? 0 : available;
+    }
+
+    private int stripeCount() {
+        return stripes > 0 ? stripes : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    }
+}
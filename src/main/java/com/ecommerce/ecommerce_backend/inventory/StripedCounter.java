@@ -0,0 +1,126 @@
+package com.ecommerce.ecommerce_backend.inventory;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntSupplier;
+
+class StripedCounter {
+    private static final int PADDING = 16;
+
+    private final int stripes;
+    private final AtomicIntegerArray cells;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    StripedCounter(int stripes) {
+        this.stripes = stripes;
+        this.cells = new AtomicIntegerArray(stripes * PADDING);
+        lock.writeLock().lock();
+    }
+
+    void seed(int total) {
+        try {
+            set(total);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void enter() {
+        lock.readLock().lock();
+    }
+
+    void exit() {
+        lock.readLock().unlock();
+    }
+
+    void reset(IntSupplier total) {
+        lock.writeLock().lock();
+        try {
+            set(total.getAsInt());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void quiesce() {
+        lock.writeLock().lock();
+        lock.writeLock().unlock();
+    }
+
+    boolean tryAcquire(int quantity) {
+        int home = homeStripe();
+        if (takeExactly(home, quantity)) {
+            return true;
+        }
+
+        int[] taken = new int[stripes];
+        int remaining = quantity;
+        for (int i = 0; i < stripes && remaining > 0; i++) {
+            int stripe = (home + i) % stripes;
+            int got = take(stripe, remaining);
+            taken[stripe] = got;
+            remaining -= got;
+        }
+        if (remaining == 0) {
+            return true;
+        }
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (taken[stripe] > 0) {
+                cells.addAndGet(stripe * PADDING, taken[stripe]);
+            }
+        }
+        return false;
+    }
+
+    void release(int quantity) {
+        cells.addAndGet(homeStripe() * PADDING, quantity);
+    }
+
+    private void set(int total) {
+        int available = Math.max(total, 0);
+        int share = available / stripes;
+        int remainder = available % stripes;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            cells.set(stripe * PADDING, share + (stripe < remainder ? 1 : 0));
+        }
+    }
+
+    int available() {
+        int sum = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            sum += cells.get(stripe * PADDING);
+        }
+        return sum;
+    }
+
+    private boolean takeExactly(int stripe, int quantity) {
+        int index = stripe * PADDING;
+        while (true) {
+            int current = cells.get(index);
+            if (current < quantity) {
+                return false;
+            }
+            if (cells.compareAndSet(index, current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private int take(int stripe, int wanted) {
+        int index = stripe * PADDING;
+        while (true) {
+            int current = cells.get(index);
+            if (current <= 0) {
+                return 0;
+            }
+            int got = Math.min(current, wanted);
+            if (cells.compareAndSet(index, current, current - got)) {
+                return got;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        return (int) (Thread.currentThread().getId() % stripes);
+    }
+}
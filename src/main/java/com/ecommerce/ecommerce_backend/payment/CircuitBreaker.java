@@ -0,0 +1,54 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong(-1);
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    boolean tryAcquire() {
+        long opened = openedAt.get();
+        if (opened < 0) {
+            return true;
+        }
+        if (System.nanoTime() - opened < openNanos) {
+            return false;
+        }
+        return probeInFlight.compareAndSet(false, true);
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(-1);
+        probeInFlight.set(false);
+    }
+
+    void onFailure() {
+        if (probeInFlight.compareAndSet(true, false)) {
+            openedAt.set(System.nanoTime());
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt.compareAndSet(-1, System.nanoTime());
+        }
+    }
+
+    void onRejected() {
+        probeInFlight.set(false);
+    }
+
+    boolean isOpen() {
+        return openedAt.get() >= 0;
+    }
+}
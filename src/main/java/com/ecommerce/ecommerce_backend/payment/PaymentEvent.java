@@ -0,0 +1,4 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+public record PaymentEvent(String paymentIntentId, String status, long created) {
+}
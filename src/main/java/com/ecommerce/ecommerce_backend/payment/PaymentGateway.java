@@ -0,0 +1,9 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+public interface PaymentGateway {
+    String retrieveStatus(String paymentIntentId);
+
+    void cancel(String paymentIntentId);
+
+    String createPaymentIntent(long amountInCents, String currency);
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+import com.ecommerce.ecommerce_backend.config.PaymentProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PaymentGatewayConfig {
+    @Bean
+    public PaymentGateway paymentGateway(PaymentProperties properties,
+                                         @Value("${stripe.secret.key}") String stripeSecretKey,
+                                         MeterRegistry meterRegistry) {
+        PaymentGateway delegate = "stub".equalsIgnoreCase(properties.getGateway())
+                ? new StubPaymentGateway(properties.getStub())
+                : new StripePaymentGateway(stripeSecretKey, properties);
+        return new ResilientPaymentGateway(delegate, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+public class PaymentGatewayException extends RuntimeException {
+    private final boolean transientFailure;
+
+    public PaymentGatewayException(String message) {
+        this(message, null, true);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause, boolean transientFailure) {
+        super(message, cause);
+        this.transientFailure = transientFailure;
+    }
+
+    public boolean isTransientFailure() {
+        return transientFailure;
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+import com.ecommerce.ecommerce_backend.entity.PaymentStatus;
+import com.ecommerce.ecommerce_backend.repository.PaymentStatusRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+@Service
+public class PaymentStatusCache {
+    private static final Set<String> SETTLED = Set.of("succeeded", "canceled");
+
+    private final PaymentGateway paymentGateway;
+    private final PaymentStatusRepository paymentStatusRepository;
+    private final Cache<String, String> statuses;
+    private final Counter localHits;
+    private final Counter remoteLookups;
+
+    public PaymentStatusCache(PaymentGateway paymentGateway,
+                              PaymentStatusRepository paymentStatusRepository,
+                              @Value("${payment.status.cache.maximum-size:50000}") long maximumSize,
+                              @Value("${payment.status.cache.ttl:PT30M}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this.paymentGateway = paymentGateway;
+        this.paymentStatusRepository = paymentStatusRepository;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, statuses, "payment_status");
+        this.localHits = meterRegistry.counter("payment.status.lookups", "source", "local");
+        this.remoteLookups = meterRegistry.counter("payment.status.lookups", "source", "remote");
+    }
+
+    public String status(String paymentIntentId) {
+        String local = localStatus(paymentIntentId);
+        if (local != null && SETTLED.contains(local)) {
+            localHits.increment();
+            return local;
+        }
+        remoteLookups.increment();
+        String remote = paymentGateway.retrieveStatus(paymentIntentId);
+        record(new PaymentEvent(paymentIntentId, remote, Instant.now().getEpochSecond()));
+        return remote;
+    }
+
+    public void record(PaymentEvent event) {
+        if (event.paymentIntentId() == null || event.status() == null) {
+            return;
+        }
+        if (paymentStatusRepository.upsert(event.paymentIntentId(), event.status(), event.created()) > 0) {
+            statuses.put(event.paymentIntentId(), event.status());
+        } else {
+            statuses.invalidate(event.paymentIntentId());
+        }
+    }
+
+    private String localStatus(String paymentIntentId) {
+        return statuses.get(paymentIntentId, id -> paymentStatusRepository.findById(id)
+                .map(PaymentStatus::getStatus)
+                .orElse(null));
+    }
+}
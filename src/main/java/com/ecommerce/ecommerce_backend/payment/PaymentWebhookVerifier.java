@@ -0,0 +1,50 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.model.EventDataObjectDeserializer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.StripeObject;
+import com.stripe.net.Webhook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+public class PaymentWebhookVerifier {
+    private final String webhookSecret;
+
+    public PaymentWebhookVerifier(@Value("${stripe.webhook.secret}") String webhookSecret) {
+        this.webhookSecret = webhookSecret;
+    }
+
+    public Optional<PaymentEvent> parse(String payload, String signature) {
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signature, webhookSecret);
+        } catch (SignatureVerificationException e) {
+            throw new PaymentGatewayException("Invalid webhook signature", e, false);
+        } catch (RuntimeException e) {
+            throw new PaymentGatewayException("Malformed webhook payload", e, false);
+        }
+        if (event.getType() == null || !event.getType().startsWith("payment_intent.")) {
+            return Optional.empty();
+        }
+        return paymentIntent(event.getDataObjectDeserializer())
+                .map(intent -> new PaymentEvent(intent.getId(), intent.getStatus(), event.getCreated()));
+    }
+
+    private static Optional<PaymentIntent> paymentIntent(EventDataObjectDeserializer deserializer) {
+        StripeObject object = deserializer.getObject().orElse(null);
+        if (object == null) {
+            try {
+                object = deserializer.deserializeUnsafe();
+            } catch (EventDataObjectDeserializationException e) {
+                throw new PaymentGatewayException("Unreadable payment intent in webhook", e, false);
+            }
+        }
+        return object instanceof PaymentIntent intent ? Optional.of(intent) : Optional.empty();
+    }
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+import com.ecommerce.ecommerce_backend.config.PaymentProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+class ResilientPaymentGateway implements PaymentGateway {
+    private final PaymentGateway delegate;
+    private final Semaphore bulkhead;
+    private final long maxWaitMillis;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    ResilientPaymentGateway(PaymentGateway delegate, PaymentProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.bulkhead = new Semaphore(properties.getBulkhead().getMaxConcurrentCalls());
+        this.maxWaitMillis = properties.getBulkhead().getMaxWait().toMillis();
+        this.circuitBreaker = new CircuitBreaker(properties.getCircuitBreaker().getFailureThreshold(),
+                properties.getCircuitBreaker().getOpenDuration());
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("payment.gateway.circuit.open", circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("payment.gateway.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String retrieveStatus(String paymentIntentId) {
+        return call("retrieve", () -> delegate.retrieveStatus(paymentIntentId));
+    }
+
+    @Override
+    public void cancel(String paymentIntentId) {
+        call("cancel", () -> {
+            delegate.cancel(paymentIntentId);
+            return null;
+        });
+    }
+
+    @Override
+    public String createPaymentIntent(long amountInCents, String currency) {
+        return call("create", () -> delegate.createPaymentIntent(amountInCents, currency));
+    }
+
+    private <T> T call(String operation, Supplier<T> action) {
+        if (!circuitBreaker.tryAcquire()) {
+            record(operation, "short_circuited", 0);
+            throw new PaymentGatewayException("Payment provider is unavailable, please retry later");
+        }
+        if (!acquirePermit()) {
+            circuitBreaker.onRejected();
+            record(operation, "rejected", 0);
+            throw new PaymentGatewayException("Too many concurrent payment requests, please retry");
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            circuitBreaker.onSuccess();
+            record(operation, "success", System.nanoTime() - start);
+            return result;
+        } catch (PaymentGatewayException e) {
+            if (e.isTransientFailure()) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            record(operation, "failure", System.nanoTime() - start);
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            record(operation, "failure", System.nanoTime() - start);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(String operation, String outcome, long nanos) {
+        Timer.builder("payment.gateway.calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
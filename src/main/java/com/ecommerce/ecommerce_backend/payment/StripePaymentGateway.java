@@ -0,0 +1,65 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+import com.ecommerce.ecommerce_backend.config.PaymentProperties;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
+
+class StripePaymentGateway implements PaymentGateway {
+    private final RequestOptions requestOptions;
+
+    StripePaymentGateway(String secretKey, PaymentProperties properties) {
+        this.requestOptions = RequestOptions.builder()
+                .setApiKey(secretKey)
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setReadTimeout((int) properties.getReadTimeout().toMillis())
+                .setMaxNetworkRetries(properties.getMaxNetworkRetries())
+                .build();
+    }
+
+    @Override
+    public String retrieveStatus(String paymentIntentId) {
+        try {
+            return PaymentIntent.retrieve(paymentIntentId, requestOptions).getStatus();
+        } catch (StripeException e) {
+            throw new PaymentGatewayException("Failed to retrieve payment intent: " + e.getMessage(), e, isTransient(e));
+        }
+    }
+
+    @Override
+    public void cancel(String paymentIntentId) {
+        PaymentIntent paymentIntent = new PaymentIntent();
+        paymentIntent.setId(paymentIntentId);
+        try {
+            paymentIntent.cancel(requestOptions);
+        } catch (StripeException e) {
+            throw new PaymentGatewayException("Failed to refund payment: " + e.getMessage(), e, isTransient(e));
+        }
+    }
+
+    @Override
+    public String createPaymentIntent(long amountInCents, String currency) {
+        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
+                .setAmount(amountInCents)
+                .setCurrency(currency)
+                .setAutomaticPaymentMethods(
+                        PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
+                                .setEnabled(true)
+                                .build()
+                )
+                .build();
+        try {
+            return PaymentIntent.create(params, requestOptions).getClientSecret();
+        } catch (StripeException e) {
+            throw new PaymentGatewayException("Failed to create payment intent: " + e.getMessage(), e, isTransient(e));
+        }
+    }
+
+    private static boolean isTransient(StripeException e) {
+        return e instanceof ApiConnectionException || e instanceof ApiException || e instanceof RateLimitException;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+import com.ecommerce.ecommerce_backend.config.PaymentProperties;
+
+import java.util.UUID;
+
+class StubPaymentGateway implements PaymentGateway {
+    private final long latencyMillis;
+    private final String status;
+
+    StubPaymentGateway(PaymentProperties.Stub properties) {
+        this.latencyMillis = properties.getLatency().toMillis();
+        this.status = properties.getStatus();
+    }
+
+    @Override
+    public String retrieveStatus(String paymentIntentId) {
+        pause();
+        return status;
+    }
+
+    @Override
+    public void cancel(String paymentIntentId) {
+        pause();
+    }
+
+    @Override
+    public String createPaymentIntent(long amountInCents, String currency) {
+        pause();
+        return "pi_stub_" + UUID.randomUUID() + "_secret_stub";
+    }
+
+    private void pause() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while waiting for payment stub");
+        }
+    }
+}
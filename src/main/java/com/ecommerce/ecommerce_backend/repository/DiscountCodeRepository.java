@@ -2,9 +2,31 @@ package com.ecommerce.ecommerce_backend.repository;
 
 import com.ecommerce.ecommerce_backend.entity.DiscountCode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface DiscountCodeRepository extends JpaRepository<DiscountCode, Long> {
     Optional<DiscountCode> findByCode(String code);
+
+    List<DiscountCode> findByActiveTrue();
+
+    @Query(value = "SELECT COUNT(*) FROM orders WHERE discount_code = :code AND user_id = :userId " +
+            "AND order_status IN ('PENDING', 'SHIPPED', 'DELIVERED')", nativeQuery = true)
+    int countRedemptionsByUser(@Param("code") String code, @Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE discount_code d SET redemption_count = (SELECT COUNT(*) FROM orders o " +
+            "WHERE o.discount_code = d.code AND o.order_status IN ('PENDING', 'SHIPPED', 'DELIVERED'))", nativeQuery = true)
+    int rebuildRedemptionCounts();
+
+    @Transactional
+    @Modifying
+    @Query("update DiscountCode d set d.redemptionCount = d.redemptionCount + :delta where d.id = :id")
+    int addRedemptions(@Param("id") Long id, @Param("delta") int delta);
 }
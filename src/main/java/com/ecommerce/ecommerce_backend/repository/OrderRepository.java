@@ -1,10 +1,60 @@
 package com.ecommerce.ecommerce_backend.repository;
 
 import com.ecommerce.ecommerce_backend.entity.Order;
+import com.ecommerce.ecommerce_backend.entity.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
     List<Order> findByUserId(Long userId);
+
+    @EntityGraph(attributePaths = {"user", "items"})
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"user", "items"})
+    Optional<Order> findWithItemsById(Long id);
+
+    @Query("select o.id from Order o where o.idempotencyKey = :idempotencyKey")
+    Optional<Long> findIdByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Query("select o.id from Order o where o.paymentIntentId = :paymentIntentId")
+    Optional<Long> findIdByPaymentIntentId(@Param("paymentIntentId") String paymentIntentId);
+
+    @Query("select o.id from Order o where o.orderStatus in :statuses order by o.id")
+    List<Long> findIdsByOrderStatusIn(@Param("statuses") List<OrderStatus> statuses);
+
+    @Query("select o.id from Order o where o.orderStatus = :status order by o.id")
+    List<Long> findIdsByOrderStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Modifying
+    @Query("update Order o set o.orderStatus = :status where o.id = :id and o.orderStatus = :expected")
+    int transitionStatus(@Param("id") Long id, @Param("expected") OrderStatus expected, @Param("status") OrderStatus status);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE order_item oi SET product_name = p.name, unit_price = p.price, line_total = p.price * oi.quantity " +
+            "FROM product p WHERE p.id = oi.product_id AND oi.id IN (" +
+            "SELECT i.id FROM order_item i JOIN product ip ON ip.id = i.product_id " +
+            "WHERE i.unit_price IS NULL ORDER BY i.id LIMIT :limit)", nativeQuery = true)
+    int backfillItemSnapshots(@Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE orders o SET subtotal = t.subtotal, discount = GREATEST(t.subtotal - o.total_price, 0) " +
+            "FROM (SELECT s.id, COALESCE(SUM(i.line_total), 0) AS subtotal " +
+            "FROM (SELECT id FROM orders WHERE subtotal IS NULL ORDER BY id LIMIT :limit) s " +
+            "LEFT JOIN orders_items oi ON oi.order_id = s.id " +
+            "LEFT JOIN order_item i ON i.id = oi.items_id " +
+            "GROUP BY s.id) t WHERE o.id = t.id", nativeQuery = true)
+    int backfillOrderTotals(@Param("limit") int limit);
 }
@@ -0,0 +1,49 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    @Modifying
+    @Query(value = "INSERT INTO outbox_message (dedup_key, recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+            "VALUES (:dedupKey, :recipient, :subject, :body, 'PENDING', 0, :now, :now) " +
+            "ON CONFLICT (dedup_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("dedupKey") String dedupKey,
+                       @Param("recipient") String recipient,
+                       @Param("subject") String subject,
+                       @Param("body") String body,
+                       @Param("now") LocalDateTime now);
+
+    @Query(value = "UPDATE outbox_message SET next_attempt_at = :leaseUntil WHERE id IN (" +
+            "SELECT id FROM outbox_message WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *", nativeQuery = true)
+    List<OutboxMessage> leaseDue(@Param("now") LocalDateTime now,
+                                 @Param("leaseUntil") LocalDateTime leaseUntil,
+                                 @Param("limit") int limit);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.status = com.ecommerce.ecommerce_backend.entity.OutboxStatus.SENT, " +
+            "m.sentAt = :sentAt, m.attempts = m.attempts + 1, m.lastError = null where m.id in :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.attempts = m.attempts + 1, m.nextAttemptAt = :nextAttemptAt, " +
+            "m.lastError = :error where m.id = :id")
+    int scheduleRetry(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.status = com.ecommerce.ecommerce_backend.entity.OutboxStatus.FAILED, " +
+            "m.attempts = m.attempts + 1, m.lastError = :error where m.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query("delete from OutboxMessage m where m.status = com.ecommerce.ecommerce_backend.entity.OutboxStatus.SENT and m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.entity.PaymentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface PaymentStatusRepository extends JpaRepository<PaymentStatus, String> {
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO payment_status (payment_intent_id, status, event_created, updated_at) " +
+            "VALUES (:paymentIntentId, :status, :eventCreated, now()) " +
+            "ON CONFLICT (payment_intent_id) DO UPDATE SET status = EXCLUDED.status, " +
+            "event_created = EXCLUDED.event_created, updated_at = EXCLUDED.updated_at " +
+            "WHERE payment_status.event_created <= EXCLUDED.event_created", nativeQuery = true)
+    int upsert(@Param("paymentIntentId") String paymentIntentId,
+               @Param("status") String status,
+               @Param("eventCreated") long eventCreated);
+}
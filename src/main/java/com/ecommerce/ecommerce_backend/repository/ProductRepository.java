@@ -1,14 +1,84 @@
 package com.ecommerce.ecommerce_backend.repository;
 
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
 import com.ecommerce.ecommerce_backend.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductRepositoryCustom {
     Page<Product> findAll(Pageable pageable);
     List<Product> findByCategoryId(Long categoryId);
     List<Product> findByNameContainingIgnoreCase(String name);
+
+    @Query("select new com.ecommerce.ecommerce_backend.dto.ProductDto(" +
+            "p.id, p.name, p.description, p.price, p.stock, p.imageUrl, p.averageRating, c.name) " +
+            "from Product p join p.category c where p.id = :id")
+    Optional<ProductDto> findDtoById(@Param("id") Long id);
+
+    @Query("select p.id as id, p.name as name, p.description as description from Product p")
+    List<SearchDocument> findAllSearchDocuments();
+
+    @Query("select p.id as id, p.name as name, p.ratingCount as ratingCount from Product p")
+    List<SuggestDocument> findAllSuggestDocuments();
+
+    @Query("select p.ratingCount from Product p where p.id = :id")
+    Optional<Integer> findRatingCountById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :quantity where p.id = :id and p.stock >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("update Product p set p.stock = p.stock + :quantity where p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE product SET " +
+            "rating_count = rating_count + :countDelta, " +
+            "rating_sum = rating_sum + :sumDelta, " +
+            "average_rating = CASE WHEN rating_count + :countDelta > 0 " +
+            "THEN CAST(rating_sum + :sumDelta AS double precision) / (rating_count + :countDelta) ELSE 0 END " +
+            "WHERE id = :productId", nativeQuery = true)
+    int applyRatingDelta(@Param("productId") Long productId,
+                         @Param("countDelta") int countDelta,
+                         @Param("sumDelta") long sumDelta);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE product p SET " +
+            "rating_count = COALESCE(s.cnt, 0), " +
+            "rating_sum = COALESCE(s.total, 0), " +
+            "average_rating = COALESCE(CAST(s.total AS double precision) / NULLIF(s.cnt, 0), 0) " +
+            "FROM product p2 LEFT JOIN (" +
+            "SELECT product_id, COUNT(*) AS cnt, SUM(rating) AS total FROM review GROUP BY product_id" +
+            ") s ON s.product_id = p2.id " +
+            "WHERE p.id = p2.id", nativeQuery = true)
+    int rebuildRatingAggregates();
+
+    interface SearchDocument {
+        Long getId();
+        String getName();
+        String getDescription();
+    }
+
+    interface SuggestDocument {
+        Long getId();
+        String getName();
+        int getRatingCount();
+    }
 }
@@ -0,0 +1,22 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.dto.ProductFacets;
+import com.ecommerce.ecommerce_backend.dto.ProductFilter;
+import com.ecommerce.ecommerce_backend.entity.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+    List<ProductDto> findDtos(Specification<Product> spec, Sort sort, int limit);
+
+    /**
+     * Sorted page over an explicit id set. The ids are bound once as an array so the database applies the
+     * ordering and the keyset seek; {@code after} holds the sort key of the previous page's last row, or null.
+     */
+    List<ProductDto> findDtosAmong(Collection<Long> ids, Sort sort, List<?> after, int limit);
+    ProductFacets findFacets(ProductFilter filter);
+}
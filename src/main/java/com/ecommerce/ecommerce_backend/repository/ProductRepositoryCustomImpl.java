@@ -0,0 +1,191 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.dto.FacetCount;
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.dto.ProductFacets;
+import com.ecommerce.ecommerce_backend.dto.ProductFilter;
+import com.ecommerce.ecommerce_backend.entity.Category;
+import com.ecommerce.ecommerce_backend.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+    private static final double[] PRICE_THRESHOLDS = {25, 50, 100, 250, 500};
+    private static final int RATING_BANDS = 5;
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "p.id",
+            "name", "p.name",
+            "price", "p.price",
+            "averageRating", "p.average_rating");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ProductDto> findDtos(Specification<Product> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductDto> query = cb.createQuery(ProductDto.class);
+        Root<Product> root = query.from(Product.class);
+        Join<Product, Category> category = root.join("category");
+
+        query.select(cb.construct(ProductDto.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("description"),
+                root.get("price"),
+                root.get("stock"),
+                root.get("imageUrl"),
+                root.get("averageRating"),
+                category.get("name")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ProductDto> findDtosAmong(Collection<Long> ids, Sort sort, List<?> after, int limit) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<String> columns = sort.stream().map(order -> sortColumn(order.getProperty())).toList();
+        boolean ascending = sort.stream().findFirst().map(Sort.Order::isAscending).orElse(true);
+        String direction = ascending ? " ASC" : " DESC";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids.toArray(Long[]::new))
+                .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder("SELECT p.id, p.name, p.description, p.price, p.stock, p.image_url, " +
+                "p.average_rating, c.name AS category_name " +
+                "FROM product p JOIN category c ON c.id = p.category_id WHERE p.id = ANY(:ids)");
+        if (after != null) {
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < after.size(); i++) {
+                values.add(":after" + i);
+                params.addValue("after" + i, after.get(i));
+            }
+            sql.append(" AND (").append(String.join(", ", columns)).append(ascending ? ") > (" : ") < (")
+                    .append(String.join(", ", values)).append(")");
+        }
+        sql.append(" ORDER BY ").append(columns.stream().map(column -> column + direction).collect(Collectors.joining(", ")))
+                .append(" LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new ProductDto(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getDouble("price"),
+                rs.getInt("stock"),
+                rs.getString("image_url"),
+                rs.getDouble("average_rating"),
+                rs.getString("category_name")));
+    }
+
+    @Override
+    public ProductFacets findFacets(ProductFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (filter.getMinPrice() != null) {
+            where.append(" AND p.price >= :minPrice");
+            params.addValue("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            where.append(" AND p.price <= :maxPrice");
+            params.addValue("maxPrice", filter.getMaxPrice());
+        }
+        if (filter.getMinRating() != null) {
+            where.append(" AND p.average_rating >= :minRating");
+            params.addValue("minRating", filter.getMinRating());
+        }
+        if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+            where.append(" AND p.category_id IN (:categoryIds)");
+            params.addValue("categoryIds", filter.getCategoryIds());
+        }
+        if (filter.getInStock() != null) {
+            where.append(filter.getInStock() ? " AND p.stock > 0" : " AND p.stock <= 0");
+        }
+
+        String thresholds = Arrays.stream(PRICE_THRESHOLDS)
+                .mapToObj(Double::toString)
+                .collect(Collectors.joining(", ", "ARRAY[", "]::double precision[]"));
+        String sql = "SELECT GROUPING(category_id) AS g_category, GROUPING(price_bucket) AS g_price, " +
+                "category_id, category_name, price_bucket, rating_band, COUNT(*) AS cnt FROM (" +
+                "SELECT p.category_id, c.name AS category_name, " +
+                "width_bucket(p.price, " + thresholds + ") AS price_bucket, " +
+                "LEAST(FLOOR(p.average_rating), " + (RATING_BANDS - 1) + ") AS rating_band " +
+                "FROM product p JOIN category c ON c.id = p.category_id" + where +
+                ") f GROUP BY GROUPING SETS ((category_id, category_name), (price_bucket), (rating_band)) " +
+                "ORDER BY category_id, price_bucket, rating_band";
+
+        ProductFacets facets = new ProductFacets();
+        jdbcTemplate.query(sql, params, rs -> {
+            long count = rs.getLong("cnt");
+            if (rs.getInt("g_category") == 0) {
+                long categoryId = rs.getLong("category_id");
+                facets.getCategories().add(new FacetCount(Long.toString(categoryId), rs.getString("category_name"), count));
+            } else if (rs.getInt("g_price") == 0) {
+                int bucket = rs.getInt("price_bucket");
+                facets.getPriceRanges().add(new FacetCount(Integer.toString(bucket), priceLabel(bucket), count));
+            } else {
+                int band = rs.getInt("rating_band");
+                facets.getRatingBands().add(new FacetCount(Integer.toString(band), band + "-" + (band + 1), count));
+            }
+        });
+        return facets;
+    }
+
+    private static String sortColumn(String property) {
+        String column = SORT_COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort: " + property);
+        }
+        return column;
+    }
+
+    private static String priceLabel(int bucket) {
+        if (bucket == 0) {
+            return "< " + formatPrice(PRICE_THRESHOLDS[0]);
+        }
+        if (bucket >= PRICE_THRESHOLDS.length) {
+            return formatPrice(PRICE_THRESHOLDS[PRICE_THRESHOLDS.length - 1]) + "+";
+        }
+        return formatPrice(PRICE_THRESHOLDS[bucket - 1]) + "-" + formatPrice(PRICE_THRESHOLDS[bucket]);
+    }
+
+    private static String formatPrice(double price) {
+        return price == Math.rint(price) ? Long.toString((long) price) : Double.toString(price);
+    }
+}
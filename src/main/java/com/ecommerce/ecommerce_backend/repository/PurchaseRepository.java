@@ -0,0 +1,43 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.entity.Purchase;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
+    @Query("select p.productId from Purchase p where p.userId = :userId and p.orderCount > 0")
+    List<Long> findPurchasedProductIds(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO purchase (user_id, product_id, order_count) " +
+            "SELECT :userId, product_id, 1 FROM unnest(CAST(:productIds AS bigint[])) AS product_id " +
+            "ON CONFLICT (user_id, product_id) DO UPDATE SET order_count = purchase.order_count + 1", nativeQuery = true)
+    int increment(@Param("userId") Long userId, @Param("productIds") Long[] productIds);
+
+    @Modifying
+    @Query(value = "UPDATE purchase SET order_count = GREATEST(order_count - 1, 0) " +
+            "WHERE user_id = :userId AND product_id IN (:productIds)", nativeQuery = true)
+    int decrement(@Param("userId") Long userId, @Param("productIds") Collection<Long> productIds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "WITH qualifying AS (" +
+            "SELECT o.user_id, i.product_id, COUNT(DISTINCT o.id) AS order_count FROM orders o " +
+            "JOIN orders_items oi ON oi.order_id = o.id " +
+            "JOIN order_item i ON i.id = oi.items_id " +
+            "WHERE o.user_id IS NOT NULL AND i.product_id IS NOT NULL " +
+            "AND o.order_status IN ('PENDING', 'SHIPPED', 'DELIVERED') " +
+            "GROUP BY o.user_id, i.product_id), " +
+            "stale AS (DELETE FROM purchase p WHERE NOT EXISTS (SELECT 1 FROM qualifying q " +
+            "WHERE q.user_id = p.user_id AND q.product_id = p.product_id)) " +
+            "INSERT INTO purchase (user_id, product_id, order_count) " +
+            "SELECT user_id, product_id, order_count FROM qualifying " +
+            "ON CONFLICT (user_id, product_id) DO UPDATE SET order_count = EXCLUDED.order_count", nativeQuery = true)
+    int rebuild();
+}
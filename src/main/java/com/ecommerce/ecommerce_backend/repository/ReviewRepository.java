@@ -1,11 +1,13 @@
 package com.ecommerce.ecommerce_backend.repository;
 
 import com.ecommerce.ecommerce_backend.entity.Review;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    @EntityGraph(attributePaths = {"product", "user"})
     List<Review> findByProductId(Long productId);
     boolean existsByUserIdAndProductId(Long userId, Long productId);
 }
@@ -0,0 +1,11 @@
+package com.ecommerce.ecommerce_backend.repository;
+
+import com.ecommerce.ecommerce_backend.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    @Query("select coalesce(sum(r.quantity), 0) from StockReservation r where r.productId = :productId")
+    long sumPendingByProductId(@Param("productId") Long productId);
+}
@@ -0,0 +1,232 @@
+package com.ecommerce.ecommerce_backend.search;
+
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_backend.event.ProductsImportedEvent;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double PARTIAL_MATCH_FACTOR = 0.5;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Set<String>> termsByProduct = new HashMap<>();
+    private final Map<String, Map<Long, Double>> postings = new HashMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final NavigableSet<String> vocabulary = new TreeSet<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            termsByProduct.clear();
+            postings.clear();
+            termsByTrigram.clear();
+            vocabulary.clear();
+            for (ProductRepository.SearchDocument doc : productRepository.findAllSearchDocuments()) {
+                add(doc.getId(), doc.getName(), doc.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> index(event.getProductId(),
+                    event.getProduct().getName(), event.getProduct().getDescription());
+            case DELETED -> remove(event.getProductId());
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (ProductDto product : event.getProducts()) {
+                removeInternal(product.getId());
+                add(product.getId(), product.getName(), product.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Long productId, String name, String description) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+            add(productId, name, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        return score(query).entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** Every product matching the query, unranked, for callers that order the matches themselves. */
+    public Set<Long> matches(String query) {
+        return score(query).keySet();
+    }
+
+    private Map<Long, Double> score(String query) {
+        List<String> queryTerms = tokenize(query).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return Map.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Double>> perTerm = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Map<Long, Double> scores = scoreTerm(term);
+                if (scores.isEmpty()) {
+                    return Map.of();
+                }
+                perTerm.add(scores);
+            }
+            perTerm.sort(Comparator.comparingInt(Map::size));
+
+            Map<Long, Double> result = new HashMap<>(perTerm.get(0));
+            for (int i = 1; i < perTerm.size() && !result.isEmpty(); i++) {
+                Map<Long, Double> next = perTerm.get(i);
+                result.keySet().retainAll(next.keySet());
+                result.replaceAll((id, score) -> score + next.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreTerm(String term) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (String candidate : matchingTerms(term)) {
+            double factor = candidate.equals(term) ? 1.0 : PARTIAL_MATCH_FACTOR;
+            postings.get(candidate).forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+        }
+        return scores;
+    }
+
+    private Collection<String> matchingTerms(String term) {
+        if (term.length() < 3) {
+            return vocabulary.subSet(term, true, term + Character.MAX_VALUE, false);
+        }
+        Set<String> candidates = null;
+        for (String trigram : trigrams(term)) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms == null) {
+                return List.of();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(terms);
+            } else {
+                candidates.retainAll(terms);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+        candidates.removeIf(candidate -> !candidate.contains(term));
+        return candidates;
+    }
+
+    private void add(Long productId, String name, String description) {
+        Map<String, Double> weights = new HashMap<>();
+        tokenize(name).forEach(term -> weights.merge(term, NAME_WEIGHT, Math::max));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Math::max));
+        if (weights.isEmpty()) {
+            return;
+        }
+
+        termsByProduct.put(productId, weights.keySet());
+        weights.forEach((term, weight) -> {
+            Map<Long, Double> docs = postings.computeIfAbsent(term, t -> {
+                vocabulary.add(t);
+                trigrams(t).forEach(trigram -> termsByTrigram.computeIfAbsent(trigram, g -> new HashSet<>()).add(t));
+                return new HashMap<>();
+            });
+            docs.put(productId, weight);
+        });
+    }
+
+    private void removeInternal(Long productId) {
+        Set<String> terms = termsByProduct.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Double> docs = postings.get(term);
+            docs.remove(productId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+                vocabulary.remove(term);
+                for (String trigram : trigrams(term)) {
+                    Set<String> shared = termsByTrigram.get(trigram);
+                    shared.remove(term);
+                    if (shared.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigrams(String term) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            trigrams.add(term.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
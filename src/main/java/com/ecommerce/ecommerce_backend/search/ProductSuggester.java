@@ -0,0 +1,280 @@
+package com.ecommerce.ecommerce_backend.search;
+
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.dto.ProductSuggestion;
+import com.ecommerce.ecommerce_backend.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_backend.event.ProductsImportedEvent;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ProductSuggester {
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingDouble((Entry e) -> e.popularity).reversed()
+            .thenComparingInt(e -> e.name.length())
+            .thenComparing(e -> e.id);
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            root.children = null;
+            root.terminals = null;
+            root.top.clear();
+            entries.clear();
+            for (ProductRepository.SuggestDocument doc : productRepository.findAllSuggestDocuments()) {
+                add(new Entry(doc.getId(), doc.getName(), doc.getRatingCount()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> index(event.getProductId(), event.getProduct().getName());
+            case DELETED -> remove(event.getProductId());
+            case RATING_CHANGED -> productRepository.findRatingCountById(event.getProductId())
+                    .ifPresent(count -> updatePopularity(event.getProductId(), count));
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (ProductDto product : event.getProducts()) {
+                Entry previous = entries.get(product.getId());
+                removeInternal(product.getId());
+                add(new Entry(product.getId(), product.getName(), previous == null ? 0 : previous.popularity));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return node.top.stream()
+                    .limit(Math.max(1, Math.min(limit, MAX_SUGGESTIONS)))
+                    .map(e -> new ProductSuggestion(e.id, e.name))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Long productId, String name) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(productId);
+            removeInternal(productId);
+            add(new Entry(productId, name, previous == null ? 0 : previous.popularity));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void updatePopularity(Long productId, double popularity) {
+        lock.writeLock().lock();
+        try {
+            Entry current = entries.get(productId);
+            if (current != null && current.popularity != popularity) {
+                removeInternal(productId);
+                add(new Entry(productId, current.name, popularity));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Entry entry) {
+        if (entry.name == null || entry.keys().isEmpty()) {
+            return;
+        }
+        entries.put(entry.id, entry);
+        for (String key : entry.keys()) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+                offer(node, entry);
+            }
+            node.addTerminal(entry);
+        }
+    }
+
+    private void removeInternal(Long productId) {
+        Entry entry = entries.remove(productId);
+        if (entry == null) {
+            return;
+        }
+        for (String key : entry.keys()) {
+            removeKey(root, key, 0, entry);
+        }
+    }
+
+    private boolean removeKey(Node node, String key, int depth, Entry entry) {
+        if (depth == key.length()) {
+            node.removeTerminal(entry);
+        } else {
+            Node child = node.child(key.charAt(depth));
+            if (child != null && removeKey(child, key, depth + 1, entry)) {
+                node.removeChild(key.charAt(depth));
+            }
+        }
+        if (node.top.contains(entry)) {
+            recomputeTop(node);
+        }
+        return node != root && node.isEmpty();
+    }
+
+    private static void offer(Node node, Entry entry) {
+        List<Entry> top = node.top;
+        if (top.size() == MAX_SUGGESTIONS && RANKING.compare(entry, top.get(MAX_SUGGESTIONS - 1)) >= 0) {
+            return;
+        }
+        if (top.contains(entry)) {
+            return;
+        }
+        int position = Collections.binarySearch(top, entry, RANKING);
+        top.add(position < 0 ? -position - 1 : position, entry);
+        if (top.size() > MAX_SUGGESTIONS) {
+            top.remove(MAX_SUGGESTIONS);
+        }
+    }
+
+    private static void recomputeTop(Node node) {
+        Set<Entry> candidates = new HashSet<>();
+        if (node.terminals != null) {
+            candidates.addAll(node.terminals);
+        }
+        if (node.children != null) {
+            node.children.values().forEach(child -> candidates.addAll(child.top));
+        }
+        node.top = candidates.stream()
+                .sorted(RANKING)
+                .limit(MAX_SUGGESTIONS)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", ProductSearchIndex.tokenize(text));
+    }
+
+    private static class Node {
+        private Map<Character, Node> children;
+        private Set<Entry> terminals;
+        private List<Entry> top = new ArrayList<>(2);
+
+        private Node child(char c) {
+            return children == null ? null : children.get(c);
+        }
+
+        private Node childOrCreate(char c) {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            return children.computeIfAbsent(c, key -> new Node());
+        }
+
+        private void removeChild(char c) {
+            children.remove(c);
+            if (children.isEmpty()) {
+                children = null;
+            }
+        }
+
+        private void addTerminal(Entry entry) {
+            if (terminals == null) {
+                terminals = new HashSet<>(2);
+            }
+            terminals.add(entry);
+        }
+
+        private void removeTerminal(Entry entry) {
+            if (terminals != null) {
+                terminals.remove(entry);
+                if (terminals.isEmpty()) {
+                    terminals = null;
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return children == null && terminals == null;
+        }
+    }
+
+    private static class Entry {
+        private final Long id;
+        private final String name;
+        private final double popularity;
+
+        private Entry(Long id, String name, double popularity) {
+            this.id = id;
+            this.name = name;
+            this.popularity = popularity;
+        }
+
+        private List<String> keys() {
+            List<String> tokens = ProductSearchIndex.tokenize(name);
+            List<String> keys = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+            }
+            return keys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry other && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.ecommerce_backend.security;
+
+import com.ecommerce.ecommerce_backend.entity.User;
+import lombok.Getter;
+
+import java.util.List;
+
+/** Login principal that carries the account it was loaded from, so callers need not look the user up again. */
+@Getter
+public class AccountDetails extends org.springframework.security.core.userdetails.User {
+    private final CurrentUser account;
+
+    public AccountDetails(User user) {
+        super(user.getUsername(), user.getPassword(), List.of());
+        this.account = CurrentUser.of(user);
+    }
+}
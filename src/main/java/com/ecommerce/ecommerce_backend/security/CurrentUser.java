@@ -0,0 +1,28 @@
+package com.ecommerce.ecommerce_backend.security;
+
+import com.ecommerce.ecommerce_backend.entity.User;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+public record CurrentUser(Long id, String username, String role, String email) implements AuthenticatedPrincipal {
+    public static CurrentUser of(User user) {
+        return new CurrentUser(user.getId(), user.getUsername(), user.getRole(), user.getEmail());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRole(role);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.ecommerce_backend.security;
+
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+    private static final String ATTRIBUTE = CurrentUser.class.getName();
+
+    private final UserRepository userRepository;
+
+    public CurrentUserArgumentResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CurrentUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public CurrentUser resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                       NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object resolved = webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (resolved instanceof CurrentUser currentUser) {
+            return currentUser;
+        }
+        CurrentUser currentUser = resolve(SecurityContextHolder.getContext().getAuthentication());
+        if (currentUser != null) {
+            webRequest.setAttribute(ATTRIBUTE, currentUser, RequestAttributes.SCOPE_REQUEST);
+        }
+        return currentUser;
+    }
+
+    private CurrentUser resolve(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof CurrentUser currentUser && currentUser.id() != null) {
+            return currentUser;
+        }
+        return userRepository.findByUsername(authentication.getName())
+                .map(CurrentUser::of)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.ecommerce_backend.security;
+
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+@Component
+public class TokenRevocationCheck {
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Cache<String, Optional<CurrentUser>> accounts;
+
+    public TokenRevocationCheck(UserRepository userRepository,
+                                @Value("${auth.revocation.enabled:false}") boolean enabled,
+                                @Value("${auth.revocation.ttl:PT30S}") Duration ttl,
+                                @Value("${auth.revocation.maximum-size:10000}") long maximumSize,
+                                MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, "token_revocation");
+    }
+
+    public boolean isRevoked(CurrentUser user) {
+        if (!enabled) {
+            return false;
+        }
+        Optional<CurrentUser> current = accounts.get(user.username(), username -> userRepository.findByUsername(username)
+                .map(CurrentUser::of));
+        return current
+                .map(account -> (user.id() != null && !user.id().equals(account.id()))
+                        || !Objects.equals(user.role(), account.role()))
+                .orElse(true);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.ecommerce_backend.security;
+
+import com.ecommerce.ecommerce_backend.utils.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class VerifiedTokenCache {
+    private final JwtUtil jwtUtil;
+    private final Duration negativeTtl;
+    private final Cache<String, VerifiedToken> tokens;
+    private final Timer validVerifications;
+    private final Timer invalidVerifications;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${auth.token-cache.maximum-size:100000}") long maximumSize,
+                              @Value("${auth.token-cache.negative-ttl:PT10S}") Duration negativeTtl,
+                              MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.negativeTtl = negativeTtl;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt_tokens");
+        this.validVerifications = meterRegistry.timer("auth.jwt.verification", "outcome", "valid");
+        this.invalidVerifications = meterRegistry.timer("auth.jwt.verification", "outcome", "invalid");
+    }
+
+    public CurrentUser verify(String token) {
+        return tokens.get(digest(token), key -> load(token)).user();
+    }
+
+    private VerifiedToken load(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtUtil.extractAllClaims(token);
+            long expiresAt = claims.getExpiration() != null
+                    ? claims.getExpiration().getTime()
+                    : System.currentTimeMillis() + negativeTtl.toMillis();
+            VerifiedToken verified = new VerifiedToken(jwtUtil.authenticate(claims), expiresAt);
+            validVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return new VerifiedToken(null, System.currentTimeMillis() + negativeTtl.toMillis());
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(CurrentUser user, long expiresAtMillis) {
+    }
+
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.ofMillis(value.expiresAtMillis() - System.currentTimeMillis()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
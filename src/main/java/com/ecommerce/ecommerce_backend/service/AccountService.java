@@ -0,0 +1,28 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.entity.User;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class AccountService {
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final NotificationOutbox notificationOutbox;
+
+    @Transactional
+    public User register(User user) {
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setRole("USER");
+        userRepository.save(user);
+
+        String subject = "Welcome to E-commerce Store";
+        String text = "Hello " + user.getUsername() + ",\n\nThank you for registering with us!";
+        notificationOutbox.enqueueEmail("welcome:" + user.getId(), user.getEmail(), subject, text);
+        return user;
+    }
+}
@@ -2,37 +2,31 @@ package com.ecommerce.ecommerce_backend.service;
 
 import com.ecommerce.ecommerce_backend.entity.Cart;
 import com.ecommerce.ecommerce_backend.entity.CartItem;
+import com.ecommerce.ecommerce_backend.entity.OrderItem;
 import com.ecommerce.ecommerce_backend.entity.Product;
 import com.ecommerce.ecommerce_backend.entity.User;
 import com.ecommerce.ecommerce_backend.repository.CartRepository;
 import com.ecommerce.ecommerce_backend.repository.ProductRepository;
-import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @AllArgsConstructor
 public class CartService {
     @Autowired
     private CartRepository cartRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private ProductRepository productRepository;
 
     @Transactional
-    public Cart addToCart(Long productId, int quantity, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Cart cart = cartRepository.findByUserId(user.getId())
-                .orElse(new Cart(user));
+    public Cart addToCart(Long productId, int quantity, CurrentUser currentUser) {
+        Cart cart = getCart(currentUser);
 
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -56,18 +50,14 @@ public class CartService {
         return cartRepository.save(cart);
     }
 
-    public Cart getCart(Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return cartRepository.findByUserId(user.getId())
-                .orElse(new Cart(user));
+    public Cart getCart(CurrentUser currentUser) {
+        return cartRepository.findByUserId(currentUser.id())
+                .orElseGet(() -> new Cart(currentUser.toUser()));
     }
 
     @Transactional
-    public Cart updateCartItem(Long cartItemId, int quantity, Authentication authentication) {
-        Cart cart = getCart(authentication);
+    public Cart updateCartItem(Long cartItemId, int quantity, CurrentUser currentUser) {
+        Cart cart = getCart(currentUser);
         CartItem item = cart.getItems().stream()
                 .filter(i -> i.getId().equals(cartItemId))
                 .findFirst()
@@ -85,8 +75,8 @@ public class CartService {
     }
 
     @Transactional
-    public Cart removeCartItem(Long cartItemId, Authentication authentication) {
-        Cart cart = getCart(authentication);
+    public Cart removeCartItem(Long cartItemId, CurrentUser currentUser) {
+        Cart cart = getCart(currentUser);
         CartItem item = cart.getItems().stream()
                 .filter(i -> i.getId().equals(cartItemId))
                 .findFirst()
@@ -96,8 +86,25 @@ public class CartService {
     }
 
     @Transactional
-    public void clearCart(Authentication authentication) {
-        Cart cart = getCart(authentication);
+    public void restoreItems(User user, List<OrderItem> orderItems) {
+        Cart cart = cartRepository.findByUserId(user.getId())
+                .orElseGet(() -> new Cart(user));
+        for (OrderItem orderItem : orderItems) {
+            if (orderItem.getProduct() == null) {
+                continue;
+            }
+            cart.getItems().stream()
+                    .filter(item -> item.getProduct().getId().equals(orderItem.getProductId()))
+                    .findFirst()
+                    .ifPresentOrElse(
+                            item -> item.setQuantity(item.getQuantity() + orderItem.getQuantity()),
+                            () -> cart.getItems().add(new CartItem(orderItem.getProduct(), orderItem.getQuantity())));
+        }
+        cartRepository.save(cart);
+    }
+
+    @Transactional
+    public void clearCart(Cart cart) {
         cart.getItems().clear();
         cartRepository.save(cart);
     }
@@ -1,9 +1,11 @@
 package com.ecommerce.ecommerce_backend.service;
 
 import com.ecommerce.ecommerce_backend.entity.Category;
+import com.ecommerce.ecommerce_backend.event.CategoryChangedEvent;
 import com.ecommerce.ecommerce_backend.repository.CategoryRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,6 +17,9 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
@@ -24,10 +29,13 @@ public class CategoryService {
     }
 
     public Category saveCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+        return saved;
     }
 
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 }
@@ -0,0 +1,100 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records: quoted fields may contain commas, doubled quotes and line breaks,
+ * so one record can span several physical lines.
+ */
+class CsvRecordReader {
+    private final Reader in;
+    private int pushedBack = -1;
+    private long line = 1;
+    private long recordLine;
+
+    CsvRecordReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Returns the next record's cells, or {@code null} at end of input. A blank line is returned
+     * as a single empty cell.
+     */
+    List<String> next() throws IOException {
+        recordLine = line;
+        List<String> cells = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+
+        int c;
+        while ((c = read()) != -1) {
+            empty = false;
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        current.append('"');
+                    } else {
+                        quoted = false;
+                        pushedBack = next;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        line++;
+                    }
+                    current.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                cells.add(current.toString());
+                return cells;
+            } else {
+                current.append((char) c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        if (empty) {
+            return null;
+        }
+        cells.add(current.toString());
+        return cells;
+    }
+
+    /**
+     * The physical line the last record returned by {@link #next()} started on.
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack == -1) {
+            pushedBack = in.read();
+        }
+        return pushedBack;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return in.read();
+    }
+}
@@ -1,21 +1,151 @@
 package com.ecommerce.ecommerce_backend.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Service
 public class EmailService {
-    @Autowired
-    private JavaMailSender mailSender;
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final int batchSize;
+    private final BlockingQueue<PendingEmail> queue;
+    private final ExecutorService workers;
+    private final Timer sendTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private volatile boolean running = true;
+
+    public EmailService(JavaMailSender mailSender,
+                        MeterRegistry meterRegistry,
+                        @Value("${mail.from:your_email}") String from,
+                        @Value("${mail.dispatch.queue-capacity:10000}") int queueCapacity,
+                        @Value("${mail.dispatch.batch-size:50}") int batchSize,
+                        @Value("${mail.dispatch.concurrency:2}") int concurrency) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sendTimer = Timer.builder("mail.dispatch.send").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("mail.dispatch.batch.size").register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.dispatch.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.dispatch.failed").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("mail.dispatch.rejected").register(meterRegistry);
+        Gauge.builder("mail.dispatch.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "mail-dispatch-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(this::drain);
+        }
+    }
 
-    public void sendEmail(String to, String subject, String text) {
+    public CompletableFuture<Void> submit(String to, String subject, String text) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(to);
         message.setSubject(subject);
         message.setText(text);
-        message.setFrom("your_email");
-        mailSender.send(message);
+        message.setFrom(from);
+
+        PendingEmail pending = new PendingEmail(message, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            rejectedCounter.increment();
+            pending.result().completeExceptionally(new RejectedExecutionException("Mail queue is full"));
+        }
+        return pending.result();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        List<PendingEmail> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+                new RejectedExecutionException("Mail dispatcher is shutting down")));
+    }
+
+    private void drain() {
+        List<PendingEmail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEmail first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<PendingEmail> batch) {
+        SimpleMailMessage[] messages = batch.stream()
+                .map(PendingEmail::message)
+                .toArray(SimpleMailMessage[]::new);
+        batchSizes.record(messages.length);
+
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(messages);
+            sentCounter.increment(messages.length);
+            batch.forEach(pending -> pending.result().complete(null));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (PendingEmail pending : batch) {
+                Exception failure = failedMessages.isEmpty() ? e : failedMessages.get(pending.message());
+                if (failure == null) {
+                    sentCounter.increment();
+                    pending.result().complete(null);
+                } else {
+                    failedCounter.increment();
+                    pending.result().completeExceptionally(failure instanceof MailException
+                            ? failure
+                            : new MailSendException(failure.getMessage(), failure));
+                }
+            }
+        } catch (MailException | IllegalStateException e) {
+            failedCounter.increment(messages.length);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        } finally {
+            sample.stop(sendTimer);
+        }
+    }
+
+    private record PendingEmail(SimpleMailMessage message, CompletableFuture<Void> result) {
     }
 }
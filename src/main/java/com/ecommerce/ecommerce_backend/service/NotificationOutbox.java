@@ -0,0 +1,20 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationOutbox {
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean enqueueEmail(String dedupKey, String to, String subject, String text) {
+        return outboxMessageRepository.insertIfAbsent(dedupKey, to, subject, text, LocalDateTime.now()) == 1;
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.dto.CursorPage;
+import com.ecommerce.ecommerce_backend.dto.OrderHistoryRequest;
+import com.ecommerce.ecommerce_backend.entity.Order;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+class OrderHistoryKeyset {
+    static final Sort SORT = Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id"));
+
+    private final int size;
+    private final LocalDateTime beforeDate;
+    private final Long beforeId;
+
+    private OrderHistoryKeyset(int size, LocalDateTime beforeDate, Long beforeId) {
+        this.size = size;
+        this.beforeDate = beforeDate;
+        this.beforeId = beforeId;
+    }
+
+    static OrderHistoryKeyset of(OrderHistoryRequest request) {
+        int size = CursorPage.validateSize(request.getSize());
+        String cursor = request.getCursor();
+        if (cursor == null || cursor.isBlank()) {
+            return new OrderHistoryKeyset(size, null, null);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            return new OrderHistoryKeyset(size, LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    Specification<Order> specification(Long userId, OrderHistoryRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+            if (request.getStatus() != null) {
+                predicates.add(cb.equal(root.get("orderStatus"), request.getStatus()));
+            }
+            if (request.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("orderDate"), request.getFrom()));
+            }
+            if (request.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("orderDate"), request.getTo()));
+            }
+            if (beforeDate != null) {
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("orderDate"), beforeDate),
+                        cb.and(cb.equal(root.get("orderDate"), beforeDate), cb.lessThan(root.get("id"), beforeId))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    static String cursorAfter(Order order) {
+        String raw = order.getOrderDate() + "|" + order.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
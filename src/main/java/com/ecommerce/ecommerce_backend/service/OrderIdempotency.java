@@ -0,0 +1,133 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.entity.Order;
+import com.ecommerce.ecommerce_backend.repository.OrderRepository;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Service
+public class OrderIdempotency {
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final Cache<String, Long> recentKeys;
+    private final Map<String, CompletableFuture<Long>> inFlight = new ConcurrentHashMap<>();
+
+    public OrderIdempotency(OrderService orderService,
+                            OrderRepository orderRepository,
+                            @Value("${order.idempotency.cache.maximum-size:100000}") long maximumSize,
+                            @Value("${order.idempotency.cache.ttl:PT24H}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentKeys, "order-idempotency");
+    }
+
+    public String resolveKey(CurrentUser currentUser, String idempotencyKeyHeader, String paymentIntentId) {
+        if (idempotencyKeyHeader != null && !idempotencyKeyHeader.isBlank()) {
+            return "key:" + currentUser.username() + ":" + idempotencyKeyHeader.trim();
+        }
+        if (paymentIntentId != null && !paymentIntentId.isBlank()) {
+            return "payment-intent:" + paymentIntentId;
+        }
+        return null;
+    }
+
+    public Order execute(String key, String paymentIntentId, CurrentUser currentUser, Function<String, Order> placement) {
+        if (key == null) {
+            return placement.apply(null);
+        }
+
+        while (true) {
+            Optional<Long> existing = findExisting(key);
+            if (existing.isPresent()) {
+                Order order = orderService.getOrderDetails(existing.get(), currentUser);
+                if (key.equals(order.getIdempotencyKey())) {
+                    return order;
+                }
+                recentKeys.invalidate(key);
+                continue;
+            }
+            Optional<Long> charged = findByPaymentIntent(paymentIntentId);
+            if (charged.isPresent()) {
+                return orderService.getOrderDetails(charged.get(), currentUser);
+            }
+
+            CompletableFuture<Long> mine = new CompletableFuture<>();
+            CompletableFuture<Long> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                try {
+                    return orderService.getOrderDetails(running.join(), currentUser);
+                } catch (CompletionException e) {
+                    continue;
+                }
+            }
+
+            try {
+                Optional<Long> committed = findExisting(key);
+                if (committed.isPresent()) {
+                    mine.complete(committed.get());
+                    return orderService.getOrderDetails(committed.get(), currentUser);
+                }
+                Order order = placement.apply(key);
+                recentKeys.put(key, order.getId());
+                mine.complete(order.getId());
+                return order;
+            } catch (DataIntegrityViolationException e) {
+                Optional<Long> winner = orderRepository.findIdByIdempotencyKey(key);
+                if (winner.isEmpty()) {
+                    Optional<Long> sameIntent = findByPaymentIntent(paymentIntentId);
+                    if (sameIntent.isEmpty()) {
+                        mine.completeExceptionally(e);
+                        throw e;
+                    }
+                    mine.complete(sameIntent.get());
+                    return orderService.getOrderDetails(sameIntent.get(), currentUser);
+                }
+                recentKeys.put(key, winner.get());
+                mine.complete(winner.get());
+                return orderService.getOrderDetails(winner.get(), currentUser);
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+    }
+
+    private Optional<Long> findByPaymentIntent(String paymentIntentId) {
+        if (paymentIntentId == null || paymentIntentId.isBlank()) {
+            return Optional.empty();
+        }
+        return orderRepository.findIdByPaymentIntentId(paymentIntentId);
+    }
+
+    private Optional<Long> findExisting(String key) {
+        Long cached = recentKeys.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Long> stored = orderRepository.findIdByIdempotencyKey(key);
+        stored.ifPresent(id -> recentKeys.put(key, id));
+        return stored;
+    }
+}
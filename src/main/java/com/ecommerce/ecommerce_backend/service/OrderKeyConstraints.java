@@ -0,0 +1,66 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Makes sure the unique keys order placement relies on are enforced by the database. Schema updates skip a
+ * unique constraint silently when the column already holds duplicates, so the constraint is checked on
+ * startup, created when missing, and the application refuses to start if duplicates still prevent it.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderKeyConstraints {
+    private static final List<String> UNIQUE_COLUMNS = List.of("payment_intent_id", "idempotency_key");
+
+    private static final String UNIQUE_INDEX_SQL = "SELECT COUNT(*) FROM pg_index i " +
+            "JOIN pg_class t ON t.oid = i.indrelid " +
+            "JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = i.indkey[0] " +
+            "WHERE t.relname = 'orders' AND i.indisunique AND i.indnatts = 1 AND a.attname = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${order.keys.dedupe-on-startup:false}")
+    private boolean dedupeOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (dedupeOnStartup) {
+            dedupe();
+        }
+        UNIQUE_COLUMNS.forEach(this::ensureUnique);
+    }
+
+    /** Keeps each key on its earliest order and clears it on the later duplicates. */
+    public int dedupe() {
+        int cleared = 0;
+        for (String column : UNIQUE_COLUMNS) {
+            cleared += jdbcTemplate.update("UPDATE orders o SET " + column + " = NULL WHERE o." + column +
+                    " IS NOT NULL AND EXISTS (SELECT 1 FROM orders k WHERE k." + column + " = o." + column +
+                    " AND k.id < o.id)");
+        }
+        return cleared;
+    }
+
+    private void ensureUnique(String column) {
+        Integer indexes = jdbcTemplate.queryForObject(UNIQUE_INDEX_SQL, Integer.class, column);
+        if (indexes != null && indexes > 0) {
+            return;
+        }
+        Integer duplicates = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT " + column +
+                " FROM orders WHERE " + column + " IS NOT NULL GROUP BY " + column + " HAVING COUNT(*) > 1) d",
+                Integer.class);
+        if (duplicates != null && duplicates > 0) {
+            throw new IllegalStateException("orders." + column + " has " + duplicates +
+                    " duplicated values, so its unique constraint cannot be created; " +
+                    "set order.keys.dedupe-on-startup=true to clear the duplicates");
+        }
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_orders_" + column + " ON orders (" + column + ")");
+    }
+}
@@ -0,0 +1,212 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.dto.OrderHandle;
+import com.ecommerce.ecommerce_backend.entity.Order;
+import com.ecommerce.ecommerce_backend.entity.OrderStatus;
+import com.ecommerce.ecommerce_backend.payment.PaymentGatewayException;
+import com.ecommerce.ecommerce_backend.repository.OrderRepository;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class OrderPipeline {
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final OrderIdempotency orderIdempotency;
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${order.pipeline.subscription-timeout-ms:60000}")
+    private long subscriptionTimeoutMs;
+
+    @Value("${order.pipeline.drain-batch-size:100}")
+    private int drainBatchSize;
+
+    @Value("${order.pipeline.transient-retry-window:PT15M}")
+    private Duration transientRetryWindow;
+
+    public OrderPipeline(OrderService orderService,
+                         OrderRepository orderRepository,
+                         OrderIdempotency orderIdempotency,
+                         @Value("${order.pipeline.workers:4}") int workers,
+                         @Value("${order.pipeline.queue-capacity:500}") int queueCapacity) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.orderIdempotency = orderIdempotency;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-pipeline-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    public OrderHandle submit(CurrentUser currentUser, String paymentIntentId, String discountCode, String idempotencyKey) {
+        String key = orderIdempotency.resolveKey(currentUser, idempotencyKey, paymentIntentId);
+        Order order = orderIdempotency.execute(key, paymentIntentId, currentUser, resolvedKey -> {
+            Order queued = orderService.queueOrder(currentUser, paymentIntentId, discountCode, resolvedKey);
+            try {
+                enqueue(queued.getId());
+            } catch (TaskRejectedException e) {
+                orderService.failQueuedOrder(queued.getId(), "Order queue is full, please retry");
+                throw e;
+            }
+            return queued;
+        });
+        return OrderHandle.of(order);
+    }
+
+    public OrderHandle status(Long orderId, CurrentUser currentUser) {
+        return OrderHandle.of(orderService.getOrderDetails(orderId, currentUser));
+    }
+
+    public SseEmitter subscribe(Long orderId, CurrentUser currentUser) {
+        OrderHandle handle = status(orderId, currentUser);
+        SseEmitter emitter = new SseEmitter(subscriptionTimeoutMs);
+        if (!send(emitter, handle) || handle.isSettled()) {
+            emitter.complete();
+            return emitter;
+        }
+
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+
+        OrderHandle latest = OrderHandle.of(orderRepository.findById(orderId).orElseThrow());
+        if (latest.getStatus() != handle.getStatus()) {
+            notifySubscribers(latest);
+        }
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedOrders() {
+        orderRepository.findIdsByOrderStatusIn(List.of(OrderStatus.PROCESSING)).stream()
+                .filter(orderId -> !inFlight.contains(orderId))
+                .forEach(orderService::requeueInterruptedOrder);
+    }
+
+    /**
+     * Picks up QUEUED orders that are not already waiting on a worker: the backlog left by a restart and
+     * orders put back after a transient payment failure. Submissions the executor rejects are failed in
+     * {@link #submit} and never reach this queue. Only as many orders as the executor queue has room for
+     * are claimed per pass; the rest stay QUEUED.
+     */
+    @Scheduled(fixedDelayString = "${order.pipeline.drain-interval-ms:5000}")
+    public void drainQueuedOrders() {
+        int room = executor.getQueueCapacity() - executor.getQueueSize();
+        if (room <= 0) {
+            return;
+        }
+        List<Long> queued = orderRepository.findIdsByOrderStatus(OrderStatus.QUEUED,
+                PageRequest.of(0, Math.min(room, drainBatchSize) + inFlight.size()));
+        for (Long orderId : queued) {
+            try {
+                enqueue(orderId);
+            } catch (TaskRejectedException e) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void enqueue(Long orderId) {
+        if (!inFlight.add(orderId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(orderId);
+                } finally {
+                    inFlight.remove(orderId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            inFlight.remove(orderId);
+            throw e;
+        }
+    }
+
+    private void process(Long orderId) {
+        if (!orderService.claimQueuedOrder(orderId)) {
+            return;
+        }
+        notifySubscribers(new OrderHandle(orderId, OrderStatus.PROCESSING, 0, null));
+
+        Order order;
+        Order queued = null;
+        try {
+            queued = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found"));
+            orderService.verifyPayment(queued.getPaymentIntentId());
+            order = orderService.completeQueuedOrder(orderId);
+        } catch (PaymentGatewayException e) {
+            if (!e.isTransientFailure()) {
+                order = orderService.failQueuedOrder(orderId, e.getMessage());
+            } else if (retryWindowClosed(queued)) {
+                order = orderService.failQueuedOrder(orderId,
+                        "Payment could not be verified within " + transientRetryWindow + ": " + e.getMessage());
+            } else {
+                orderService.requeueInterruptedOrder(orderId);
+                order = orderRepository.findById(orderId).orElseThrow();
+            }
+        } catch (RuntimeException e) {
+            order = orderService.failQueuedOrder(orderId, e.getMessage());
+        }
+        notifySubscribers(OrderHandle.of(order));
+    }
+
+    /** Transient failures requeue the order only until the retry window after it was placed has passed. */
+    private boolean retryWindowClosed(Order order) {
+        return order.getOrderDate().plus(transientRetryWindow).isBefore(LocalDateTime.now());
+    }
+
+    private void notifySubscribers(OrderHandle handle) {
+        Set<SseEmitter> emitters = handle.isSettled()
+                ? subscribers.remove(handle.getOrderId())
+                : subscribers.get(handle.getOrderId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            if (!send(emitter, handle) || handle.isSettled()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, OrderHandle handle) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(handle));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+}
@@ -1,127 +1,233 @@
 package com.ecommerce.ecommerce_backend.service;
 
+import com.ecommerce.ecommerce_backend.discount.DiscountService;
+import com.ecommerce.ecommerce_backend.dto.CursorPage;
+import com.ecommerce.ecommerce_backend.dto.OrderHistoryRequest;
 import com.ecommerce.ecommerce_backend.entity.*;
-import com.ecommerce.ecommerce_backend.repository.DiscountCodeRepository;
+import com.ecommerce.ecommerce_backend.inventory.InventoryService;
 import com.ecommerce.ecommerce_backend.repository.OrderRepository;
-import com.ecommerce.ecommerce_backend.repository.ProductRepository;
-import com.ecommerce.ecommerce_backend.repository.UserRepository;
-import com.stripe.Stripe;
-import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
-import com.stripe.param.PaymentIntentCreateParams;
+import com.ecommerce.ecommerce_backend.payment.PaymentEvent;
+import com.ecommerce.ecommerce_backend.payment.PaymentGateway;
+import com.ecommerce.ecommerce_backend.payment.PaymentStatusCache;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
-    @Value("${stripe.secret.key}")
-    private String stripeSecretKey;
+    @Autowired
+    private PaymentGateway paymentGateway;
 
     @Autowired
-    private OrderRepository orderRepository;
+    private PaymentStatusCache paymentStatusCache;
 
     @Autowired
-    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
 
     @Autowired
-    private ProductRepository productRepository;
+    private OrderRepository orderRepository;
 
     @Autowired
     private CartService cartService;
 
     @Autowired
-    private EmailService emailService;
+    private NotificationOutbox notificationOutbox;
 
     @Autowired
-    private DiscountCodeRepository discountCodeRepository;
+    private PurchaseIndex purchaseIndex;
 
-    @Transactional
-    public Order placeOrder(Authentication authentication, String paymentIntentId, String discountCode) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Autowired
+    private DiscountService discountService;
 
-        Cart cart = cartService.getCart(authentication);
+    @Autowired
+    private InventoryService inventoryService;
+
+    public Order placeOrder(CurrentUser currentUser, String paymentIntentId, String discountCode, String idempotencyKey) {
+        verifyPayment(paymentIntentId);
+        return transactionTemplate.execute(status -> createOrder(currentUser, paymentIntentId, discountCode, idempotencyKey));
+    }
+
+    private Order createOrder(CurrentUser currentUser, String paymentIntentId, String discountCode, String idempotencyKey) {
+        Cart cart = cartService.getCart(currentUser);
         if(cart.getItems().isEmpty()) {
             throw new RuntimeException("Cart is empty");
         }
 
-        Stripe.apiKey = stripeSecretKey;
-        PaymentIntent paymentIntent;
-        try {
-            paymentIntent = PaymentIntent.retrieve(paymentIntentId);
-        } catch (StripeException e) {
-            throw new RuntimeException("Failed to retrieve payment intent: " + e.getMessage());
+        List<OrderItem> orderItems = toOrderItems(cart);
+        reserveStock(orderItems);
+
+        Order order = new Order(currentUser.toUser(), orderItems, LocalDateTime.now());
+        order.setPaymentIntentId(paymentIntentId);
+        order.setIdempotencyKey(idempotencyKey);
+        applyDiscount(order, discountCode);
+
+        orderRepository.save(order);
+        purchaseIndex.orderPlaced(order);
+
+        cartService.clearCart(cart);
+
+        enqueueOrderConfirmation(order);
+         return order;
+    }
+
+    @Transactional
+    public Order queueOrder(CurrentUser currentUser, String paymentIntentId, String discountCode, String idempotencyKey) {
+        Cart cart = cartService.getCart(currentUser);
+        if(cart.getItems().isEmpty()) {
+            throw new RuntimeException("Cart is empty");
         }
-        if(!"succeed".equals(paymentIntent.getStatus())) {
-            throw new RuntimeException("Payment not completed");
+        if(paymentIntentId == null || paymentIntentId.isBlank()) {
+            throw new RuntimeException("Payment intent is required");
+        }
+        if(discountCode != null && !discountCode.isEmpty()) {
+            discountService.validate(discountCode, currentUser.id());
         }
 
-        List<OrderItem> orderItems = cart.getItems().stream()
-                .map(cartItem -> {
-                    Product product = cartItem.getProduct();
-                    int quantity = cartItem.getQuantity();
-                    if(product.getStock() < quantity) {
-                        throw new RuntimeException("Insufficient stock for " + product.getName());
-                    }
-                    product.setStock(product.getStock() - quantity);
-                    productRepository.save(product);
-                    return new OrderItem(product, quantity);
-                })
-                .collect(Collectors.toList());
-
-        Order order = new Order(user, orderItems, LocalDateTime.now());
+        Order order = new Order(currentUser.toUser(), toOrderItems(cart), LocalDateTime.now());
+        order.setOrderStatus(OrderStatus.QUEUED);
         order.setPaymentIntentId(paymentIntentId);
+        order.setDiscountCode(discountCode);
+        order.setIdempotencyKey(idempotencyKey);
+        orderRepository.save(order);
 
-        if (discountCode != null && !discountCode.isEmpty()) {
-            DiscountCode code = discountCodeRepository.findByCode(discountCode)
-                    .filter(DiscountCode::isActive)
-                    .orElseThrow(() -> new RuntimeException("Invalid or inactive discount code"));
-            double discount = order.getTotalPrice() * (code.getDiscountPercentage() / 100);
-            order.setTotalPrice(order.getTotalPrice() - discount);
+        cartService.clearCart(cart);
+        return order;
+    }
+
+    @Transactional
+    public boolean claimQueuedOrder(Long orderId) {
+        return orderRepository.transitionStatus(orderId, OrderStatus.QUEUED, OrderStatus.PROCESSING) == 1;
+    }
+
+    @Transactional
+    public void requeueInterruptedOrder(Long orderId) {
+        orderRepository.transitionStatus(orderId, OrderStatus.PROCESSING, OrderStatus.QUEUED);
+    }
+
+    @Transactional
+    public Order completeQueuedOrder(Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        if (order.getOrderStatus() != OrderStatus.PROCESSING) {
+            return order;
         }
 
+        reserveStock(order.getItems());
+        applyDiscount(order, order.getDiscountCode());
+        order.setOrderStatus(OrderStatus.PENDING);
         orderRepository.save(order);
+        purchaseIndex.orderPlaced(order);
 
-        cartService.clearCart(authentication);
+        enqueueOrderConfirmation(order);
+        return order;
+    }
+
+    @Transactional
+    public Order failQueuedOrder(Long orderId, String reason) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        if (order.getOrderStatus() == OrderStatus.QUEUED || order.getOrderStatus() == OrderStatus.PROCESSING) {
+            order.setOrderStatus(OrderStatus.FAILED);
+            order.setIdempotencyKey(null);
+            order.setPaymentIntentId(null);
+            order.setFailureReason(reason != null && reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+            orderRepository.save(order);
+            cartService.restoreItems(order.getUser(), order.getItems());
+        }
+        return order;
+    }
 
-        emailService.sendEmail(
-                user.getEmail(),
+    public void verifyPayment(String paymentIntentId) {
+        if(!"succeeded".equals(paymentStatusCache.status(paymentIntentId))) {
+            throw new RuntimeException("Payment not completed");
+        }
+    }
+
+    private void enqueueOrderConfirmation(Order order) {
+        notificationOutbox.enqueueEmail(
+                "order-confirmation:" + order.getId(),
+                order.getUser().getEmail(),
                 "Order Confirmation",
                 "Thank you for your order! Order ID: " + order.getId() + "\nTotal: $" + order.getTotalPrice() + "\nStatus: " + order.getOrderStatus()
         );
-         return order;
     }
 
-    public List<Order> getUserOrders(Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return orderRepository.findByUserId(user.getId());
+    private List<OrderItem> toOrderItems(Cart cart) {
+        return cart.getItems().stream()
+                .map(cartItem -> new OrderItem(cartItem.getProduct(), cartItem.getQuantity()))
+                .collect(Collectors.toList());
+    }
+
+    private void reserveStock(List<OrderItem> orderItems) {
+        orderItems.stream()
+                .sorted(Comparator.comparing(OrderItem::getProductId))
+                .forEach(item -> {
+                    if(!inventoryService.reserve(item.getProductId(), item.getQuantity())) {
+                        throw new RuntimeException("Insufficient stock for " + item.getProductName());
+                    }
+                });
+    }
+
+    private void applyDiscount(Order order, String discountCode) {
+        if (discountCode != null && !discountCode.isEmpty()) {
+            DiscountCode code = discountService.redeem(discountCode, order.getUser().getId());
+            order.setDiscountCode(discountCode);
+            order.applyDiscount(order.getSubtotal() * (code.getDiscountPercentage() / 100));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Order> getUserOrders(CurrentUser currentUser, OrderHistoryRequest request) {
+        OrderHistoryKeyset keyset = OrderHistoryKeyset.of(request);
+        List<Order> window = orderRepository.findBy(keyset.specification(currentUser.id(), request),
+                query -> query.sortBy(OrderHistoryKeyset.SORT).project("user").limit(keyset.size() + 1).all());
+        boolean hasMore = window.size() > keyset.size();
+        List<Order> page = hasMore ? window.subList(0, keyset.size()) : window;
+        if (page.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        Map<Long, Order> loaded = orderRepository.findWithItemsByIdIn(page.stream().map(Order::getId).toList()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity(), (a, b) -> a));
+        List<Order> orders = page.stream().map(order -> loaded.get(order.getId())).toList();
+        String nextCursor = hasMore ? OrderHistoryKeyset.cursorAfter(orders.get(orders.size() - 1)) : null;
+        return new CursorPage<>(orders, nextCursor);
     }
 
     @Transactional
-    public Order updateOrderStatus(Long orderId, OrderStatus status, Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        if(!"ADMIN".equals(user.getRole())) {
+    public Order updateOrderStatus(Long orderId, OrderStatus status, CurrentUser currentUser) {
+        if(!currentUser.isAdmin()) {
             throw new RuntimeException("Only admins can update order status");
         }
 
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
+        OrderStatus previous = order.getOrderStatus();
         order.setOrderStatus(status);
         orderRepository.save(order);
+        purchaseIndex.statusChanged(order, previous);
+        if (order.getDiscountCode() != null && !order.getDiscountCode().isEmpty()
+                && previous.countsAsPurchase() != status.countsAsPurchase()) {
+            if (status.countsAsPurchase()) {
+                discountService.redemptionReinstated(order.getDiscountCode(), order.getUser().getId());
+            } else {
+                discountService.redemptionCancelled(order.getDiscountCode(), order.getUser().getId());
+            }
+        }
 
-        emailService.sendEmail(
+        notificationOutbox.enqueueEmail(
+                "order-status:" + order.getId() + ":" + status,
                 order.getUser().getEmail(),
                 "Order Status Update",
                 "Your Order #" + order.getId() + "is now " + status
@@ -129,42 +235,47 @@ public class OrderService {
         return order;
     }
 
-    @Transactional
-    public Order cancelOrder(Long orderId, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public Order cancelOrder(Long orderId, CurrentUser currentUser) {
+        Order cancellable = transactionTemplate.execute(status -> findCancellableOrder(orderId, currentUser));
+        paymentGateway.cancel(cancellable.getPaymentIntentId());
+        paymentStatusCache.record(new PaymentEvent(cancellable.getPaymentIntentId(), "canceled", Instant.now().getEpochSecond()));
+        return transactionTemplate.execute(status -> completeCancellation(orderId, currentUser));
+    }
 
+    private Order findCancellableOrder(Long orderId, CurrentUser currentUser) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        if (!order.getUser().getId().equals(user.getId()) && !"ADMIN".equals(user.getRole())) {
+        if (!order.getUser().getId().equals(currentUser.id()) && !currentUser.isAdmin()) {
             throw new RuntimeException("You can only cancel your own orders");
         }
 
         if (order.getOrderStatus() != OrderStatus.PENDING) {
             throw new RuntimeException("Only PENDING orders can be cancelled");
         }
+        return order;
+    }
 
-        Stripe.apiKey = stripeSecretKey;
-        try {
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(order.getPaymentIntentId()); // Assume this field is added
-            paymentIntent.cancel();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to refund payment: " + e.getMessage());
+    private Order completeCancellation(Long orderId, CurrentUser currentUser) {
+        Order order = findCancellableOrder(orderId, currentUser);
+        if (orderRepository.transitionStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED) == 0) {
+            throw new RuntimeException("Only PENDING orders can be cancelled");
         }
 
-        for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product.setStock(product.getStock() + item.getQuantity());
-            productRepository.save(product);
-        }
+        order.getItems().stream()
+                .sorted(Comparator.comparing(OrderItem::getProductId))
+                .forEach(item -> inventoryService.release(item.getProductId(), item.getQuantity()));
 
         order.setOrderStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        purchaseIndex.orderCancelled(order);
+        if (order.getDiscountCode() != null && !order.getDiscountCode().isEmpty()) {
+            discountService.redemptionCancelled(order.getDiscountCode(), order.getUser().getId());
+        }
 
-        emailService.sendEmail(
-                user.getEmail(),
+        notificationOutbox.enqueueEmail(
+                "order-cancelled:" + order.getId(),
+                currentUser.email(),
                 "Order Cancelled",
                 "Your order #" + order.getId() + " has been cancelled."
         );
@@ -172,34 +283,20 @@ public class OrderService {
         return order;
     }
 
-    public Order getOrderDetails(Long orderId, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Order order = orderRepository.findById(orderId)
+    @Transactional(readOnly = true)
+    public Order getOrderDetails(Long orderId, CurrentUser currentUser) {
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        if (!order.getUser().getId().equals(user.getId()) && !"ADMIN".equals(user.getRole())) {
+        if (!order.getUser().getId().equals(currentUser.id()) && !currentUser.isAdmin()) {
             throw new RuntimeException("You can only view your own orders");
         }
 
         return order;
     }
 
-    public String createPaymentIntent(double amount) throws Exception {
-        Stripe.apiKey = stripeSecretKey;
-        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
-                .setAmount((long) (amount * 100))
-                .setCurrency("usd")
-                .setAutomaticPaymentMethods(
-                        PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
-                                .setEnabled(true)
-                                .build()
-                )
-                .build();
-        PaymentIntent paymentIntent = PaymentIntent.create(params);
-        return paymentIntent.getClientSecret();
+    public String createPaymentIntent(double amount) {
+        return paymentGateway.createPaymentIntent(Math.round(amount * 100), "usd");
     }
 }
 
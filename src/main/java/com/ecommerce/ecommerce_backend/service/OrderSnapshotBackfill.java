@@ -0,0 +1,41 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class OrderSnapshotBackfill {
+    private final OrderRepository orderRepository;
+
+    @Value("${order.snapshot.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${order.snapshot.backfill-batch-size:1000}")
+    private int batchSize;
+
+    public int backfill() {
+        int updated = 0;
+        int batch;
+        do {
+            batch = orderRepository.backfillItemSnapshots(batchSize);
+            updated += batch;
+        } while (batch > 0);
+        do {
+            batch = orderRepository.backfillOrderTotals(batchSize);
+            updated += batch;
+        } while (batch > 0);
+        return updated;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.entity.OutboxMessage;
+import com.ecommerce.ecommerce_backend.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.dispatch.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.dispatch.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${outbox.dispatch.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${outbox.dispatch.initial-backoff:PT10S}")
+    private Duration initialBackoff;
+
+    @Value("${outbox.dispatch.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${outbox.retention:P7D}")
+    private Duration retention;
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch.interval-ms:1000}")
+    public void dispatch() {
+        List<OutboxMessage> batch;
+        do {
+            batch = lease();
+            deliver(batch);
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(cron = "${outbox.cleanup.cron:0 30 3 * * *}")
+    public void purgeSent() {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxMessageRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+    }
+
+    private List<OutboxMessage> lease() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> leased = transactionTemplate.execute(status ->
+                outboxMessageRepository.leaseDue(now, now.plus(lease), batchSize));
+        return leased == null ? List.of() : leased;
+    }
+
+    private void deliver(List<OutboxMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Void>> results = batch.stream()
+                .map(message -> emailService.submit(message.getRecipient(), message.getSubject(), message.getBody()))
+                .toList();
+
+        List<Long> sent = new ArrayList<>();
+        List<OutboxMessage> failed = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                results.get(i).join();
+                sent.add(batch.get(i).getId());
+            } catch (CompletionException e) {
+                failed.add(batch.get(i));
+                errors.add(e.getCause() != null ? e.getCause() : e);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxMessageRepository.markSent(sent, now);
+            }
+            for (int i = 0; i < failed.size(); i++) {
+                OutboxMessage message = failed.get(i);
+                String error = truncate(errors.get(i).getMessage());
+                if (message.getAttempts() + 1 >= maxAttempts) {
+                    outboxMessageRepository.markFailed(message.getId(), error);
+                } else {
+                    outboxMessageRepository.scheduleRetry(message.getId(), now.plus(backoff(message.getAttempts())), error);
+                }
+            }
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Service
+@RequiredArgsConstructor
+public class ProductExportService {
+    private static final String EXPORT_SQL = "SELECT p.id, p.name, p.description, p.price, p.stock, p.image_url, " +
+            "p.average_rating, p.category_id, c.name AS category_name FROM product p JOIN category c ON c.id = p.category_id " +
+            "ORDER BY p.id";
+    private static final String CSV_HEADER = "id,name,description,price,stock,imageUrl,averageRating,categoryName,categoryId";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Transactional(readOnly = true)
+    public void export(OutputStream out, ProductFeedFormat format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter json = objectMapper.writer();
+        if (format == ProductFeedFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try {
+            jdbcTemplate.query(connection -> {
+                var ps = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rs -> {
+                try {
+                    if (format == ProductFeedFormat.CSV) {
+                        writeCsv(writer, rs);
+                    } else {
+                        ObjectNode node = objectMapper.valueToTree(toDto(rs));
+                        node.put("categoryId", rs.getLong("category_id"));
+                        writer.write(json.writeValueAsString(node));
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static ProductDto toDto(ResultSet rs) throws SQLException {
+        return new ProductDto(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getDouble("price"),
+                rs.getInt("stock"),
+                rs.getString("image_url"),
+                rs.getDouble("average_rating"),
+                rs.getString("category_name"));
+    }
+
+    private static void writeCsv(Writer writer, ResultSet rs) throws SQLException, IOException {
+        writer.write(Long.toString(rs.getLong("id")));
+        writer.write(',');
+        writer.write(csvField(rs.getString("name")));
+        writer.write(',');
+        writer.write(csvField(rs.getString("description")));
+        writer.write(',');
+        writer.write(Double.toString(rs.getDouble("price")));
+        writer.write(',');
+        writer.write(Integer.toString(rs.getInt("stock")));
+        writer.write(',');
+        writer.write(csvField(rs.getString("image_url")));
+        writer.write(',');
+        writer.write(Double.toString(rs.getDouble("average_rating")));
+        writer.write(',');
+        writer.write(csvField(rs.getString("category_name")));
+        writer.write(',');
+        writer.write(Long.toString(rs.getLong("category_id")));
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.ecommerce_backend.service;
+
+public enum ProductFeedFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String contentType;
+
+    ProductFeedFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ProductFeedFormat fromContentType(String contentType) {
+        return contentType != null && contentType.startsWith(CSV.contentType) ? CSV : NDJSON;
+    }
+}
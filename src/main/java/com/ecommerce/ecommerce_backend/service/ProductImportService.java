@@ -0,0 +1,382 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.dto.ImportReport;
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.event.ProductsImportedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+    private static final String INSERT_SQL = "INSERT INTO product " +
+            "(name, description, price, stock, image_url, category_id, rating_count, rating_sum, average_rating) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0, 0, 0)";
+    private static final String UPDATE_SQL = "UPDATE product SET " +
+            "name = ?, description = ?, price = ?, stock = ?, image_url = ?, category_id = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.import.batch-size:1000}")
+    private int batchSize;
+
+    public ImportReport importProducts(Reader reader, ProductFeedFormat format) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        ImportReport report = new ImportReport();
+        List<Row> batch = new ArrayList<>(batchSize);
+        if (format == ProductFeedFormat.CSV) {
+            readCsv(in, report, batch);
+        } else {
+            readNdjson(in, report, batch);
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, report);
+        }
+        return report;
+    }
+
+    private void readNdjson(BufferedReader in, ImportReport report, List<Row> batch) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.setProcessed(report.getProcessed() + 1);
+            Row row;
+            try {
+                row = fromJson(line, lineNumber);
+            } catch (IllegalArgumentException e) {
+                report.fail(lineNumber, e.getMessage());
+                continue;
+            }
+            add(row, batch, report);
+        }
+    }
+
+    private void readCsv(BufferedReader in, ImportReport report, List<Row> batch) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(in);
+        Map<String, Integer> header = null;
+        while (true) {
+            List<String> cells;
+            try {
+                cells = records.next();
+            } catch (IllegalArgumentException e) {
+                report.setProcessed(report.getProcessed() + 1);
+                report.fail(records.recordLine(), e.getMessage());
+                return;
+            }
+            if (cells == null) {
+                return;
+            }
+            if (cells.size() == 1 && cells.get(0).isBlank()) {
+                continue;
+            }
+            if (header == null) {
+                try {
+                    header = parseHeader(cells);
+                } catch (IllegalArgumentException e) {
+                    report.fail(records.recordLine(), e.getMessage());
+                    return;
+                }
+                continue;
+            }
+
+            report.setProcessed(report.getProcessed() + 1);
+            Row row;
+            try {
+                row = fromCsv(header, cells, records.recordLine());
+            } catch (IllegalArgumentException e) {
+                report.fail(records.recordLine(), e.getMessage());
+                continue;
+            }
+            add(row, batch, report);
+        }
+    }
+
+    private void add(Row row, List<Row> batch, ImportReport report) {
+        batch.add(row);
+        if (batch.size() >= batchSize) {
+            flush(batch, report);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Row> batch, ImportReport report) {
+        try {
+            BatchResult result = transactionTemplate.execute(status -> writeBatch(batch));
+            report.setInserted(report.getInserted() + result.inserted);
+            report.setUpdated(report.getUpdated() + result.updated);
+            result.errors.forEach(error -> report.fail(error.getLine(), error.getMessage()));
+        } catch (DataAccessException e) {
+            String message = "Batch rolled back: " + e.getMostSpecificCause().getMessage();
+            batch.forEach(row -> report.fail(row.line, message));
+        }
+    }
+
+    private BatchResult writeBatch(List<Row> batch) {
+        BatchResult result = new BatchResult();
+        Map<Long, String> categories = resolveCategories(batch);
+        List<ProductDto> changed = new ArrayList<>(batch.size());
+
+        List<Row> inserts = new ArrayList<>();
+        List<Row> updates = new ArrayList<>();
+        for (Row row : batch) {
+            if (!categories.containsKey(row.categoryId)) {
+                result.errors.add(new ImportReport.RowError(row.line, "Category with ID " + row.categoryId + " not found"));
+            } else if (row.id == null) {
+                inserts.add(row);
+            } else {
+                updates.add(row);
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            List<Long> ids = insertAll(inserts);
+            for (int i = 0; i < inserts.size(); i++) {
+                Row row = inserts.get(i);
+                row.id = ids.get(i);
+                changed.add(row.toDto(categories.get(row.categoryId)));
+            }
+            result.inserted += inserts.size();
+        }
+
+        if (!updates.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, row) -> {
+                bindColumns(ps, row);
+                ps.setLong(7, row.id);
+            })[0];
+            for (int i = 0; i < updates.size(); i++) {
+                Row row = updates.get(i);
+                if (counts[i] == 0) {
+                    result.errors.add(new ImportReport.RowError(row.line, "Product with ID " + row.id + " not found"));
+                } else {
+                    result.updated++;
+                    changed.add(row.toDto(categories.get(row.categoryId)));
+                }
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsImportedEvent(changed));
+        }
+        return result;
+    }
+
+    private List<Long> insertAll(List<Row> rows) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                for (Row row : rows) {
+                    bindColumns(ps, row);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    private Map<Long, String> resolveCategories(List<Row> batch) {
+        Set<Long> ids = new HashSet<>();
+        batch.forEach(row -> ids.add(row.categoryId));
+        Map<Long, String> categories = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, name FROM category WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                (RowCallbackHandler) rs -> categories.put(rs.getLong("id"), rs.getString("name")));
+        return categories;
+    }
+
+    private static void bindColumns(PreparedStatement ps, Row row) throws SQLException {
+        ps.setString(1, row.name);
+        ps.setString(2, row.description);
+        ps.setDouble(3, row.price);
+        ps.setInt(4, row.stock);
+        if (row.imageUrl == null) {
+            ps.setNull(5, Types.VARCHAR);
+        } else {
+            ps.setString(5, row.imageUrl);
+        }
+        ps.setLong(6, row.categoryId);
+    }
+
+    private Row fromJson(String line, long lineNumber) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return Row.of(lineNumber,
+                text(node, "id"),
+                text(node, "name"),
+                text(node, "description"),
+                text(node, "price"),
+                text(node, "stock"),
+                text(node, "imageUrl"),
+                text(node, "categoryId"));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Row fromCsv(Map<String, Integer> header, List<String> cells, long lineNumber) {
+        return Row.of(lineNumber,
+                cell(header, cells, "id"),
+                cell(header, cells, "name"),
+                cell(header, cells, "description"),
+                cell(header, cells, "price"),
+                cell(header, cells, "stock"),
+                cell(header, cells, "imageurl"),
+                cell(header, cells, "categoryid"));
+    }
+
+    private static Map<String, Integer> parseHeader(List<String> columns) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "price", "stock", "categoryid")) {
+            if (!header.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+        return header;
+    }
+
+    private static String cell(Map<String, Integer> header, List<String> cells, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static class BatchResult {
+        private long inserted;
+        private long updated;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+    }
+
+    private static class Row {
+        private final long line;
+        private Long id;
+        private String name;
+        private String description;
+        private double price;
+        private int stock;
+        private String imageUrl;
+        private Long categoryId;
+
+        private Row(long line) {
+            this.line = line;
+        }
+
+        static Row of(long line, String id, String name, String description, String price,
+                      String stock, String imageUrl, String categoryId) {
+            Row row = new Row(line);
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("name is required");
+            }
+            row.id = id == null ? null : parseLong(id, "id");
+            row.name = name.trim();
+            row.description = description;
+            row.imageUrl = imageUrl;
+            row.price = parseDouble(price, "price");
+            row.stock = parseInt(stock, "stock");
+            row.categoryId = parseLong(categoryId, "categoryId");
+            if (!Double.isFinite(row.price)) {
+                throw new IllegalArgumentException("Invalid price: " + price);
+            }
+            if (row.price < 0) {
+                throw new IllegalArgumentException("price cannot be negative");
+            }
+            if (row.stock < 0) {
+                throw new IllegalArgumentException("stock cannot be negative");
+            }
+            return row;
+        }
+
+        ProductDto toDto(String categoryName) {
+            ProductDto dto = new ProductDto();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setDescription(description);
+            dto.setPrice(price);
+            dto.setStock(stock);
+            dto.setImageUrl(imageUrl);
+            dto.setCategoryName(categoryName);
+            return dto;
+        }
+
+        private static long parseLong(String value, String field) {
+            if (value == null) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + field + ": " + value);
+            }
+        }
+
+        private static int parseInt(String value, String field) {
+            if (value == null) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + field + ": " + value);
+            }
+        }
+
+        private static double parseDouble(String value, String field) {
+            if (value == null) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + field + ": " + value);
+            }
+        }
+    }
+}
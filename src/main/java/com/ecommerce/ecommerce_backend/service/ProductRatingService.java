@@ -0,0 +1,55 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.event.ProductChangedEvent;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class ProductRatingService {
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${rating.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewAdded(Long productId, int rating) {
+        productRepository.applyRatingDelta(productId, 1, rating);
+        eventPublisher.publishEvent(ProductChangedEvent.ratingChanged(productId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewEdited(Long productId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            productRepository.applyRatingDelta(productId, 0, newRating - oldRating);
+            eventPublisher.publishEvent(ProductChangedEvent.ratingChanged(productId));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewRemoved(Long productId, int rating) {
+        productRepository.applyRatingDelta(productId, -1, -rating);
+        eventPublisher.publishEvent(ProductChangedEvent.ratingChanged(productId));
+    }
+
+    @Scheduled(cron = "${rating.rebuild.cron:-}")
+    public int rebuildAll() {
+        return productRepository.rebuildRatingAggregates();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAll();
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package com.ecommerce.ecommerce_backend.service;
 
+import com.ecommerce.ecommerce_backend.dto.CursorPage;
+import com.ecommerce.ecommerce_backend.dto.FacetedPage;
 import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.dto.ProductFilter;
+import com.ecommerce.ecommerce_backend.dto.ProductPageRequest;
 import com.ecommerce.ecommerce_backend.entity.Product;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface ProductService {
-    List<ProductDto> getAllProducts();
+    CursorPage<ProductDto> getAllProducts(ProductPageRequest pageRequest);
     Optional<ProductDto> getProductById(Long id);
-    List<ProductDto> searchProducts(String query);
-    List<ProductDto> getProductsByCategory(Long categoryId);
+    CursorPage<ProductDto> searchProducts(String query, ProductPageRequest pageRequest);
+    CursorPage<ProductDto> getProductsByCategory(Long categoryId, ProductPageRequest pageRequest);
+    FacetedPage<ProductDto> filterProducts(ProductFilter filter, ProductPageRequest pageRequest);
     ProductDto createProduct(Product product, Long categoryId);
     ProductDto updateProduct(Long id, Product product);
     void deleteProduct(Long id);
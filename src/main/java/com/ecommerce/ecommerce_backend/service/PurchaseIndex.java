@@ -0,0 +1,108 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.entity.Order;
+import com.ecommerce.ecommerce_backend.entity.OrderItem;
+import com.ecommerce.ecommerce_backend.entity.OrderStatus;
+import com.ecommerce.ecommerce_backend.repository.PurchaseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class PurchaseIndex {
+    private final PurchaseRepository purchaseRepository;
+    private final Cache<Long, Set<Long>> recentUsers;
+
+    @Value("${purchase.index.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    public PurchaseIndex(PurchaseRepository purchaseRepository,
+                         @Value("${purchase.index.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${purchase.index.cache.ttl:PT10M}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.purchaseRepository = purchaseRepository;
+        this.recentUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentUsers, "purchases");
+    }
+
+    public boolean hasPurchased(Long userId, Long productId) {
+        return recentUsers.get(userId, id -> Set.copyOf(purchaseRepository.findPurchasedProductIds(id)))
+                .contains(productId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order) {
+        List<Long> productIds = productIds(order);
+        if (!productIds.isEmpty()) {
+            purchaseRepository.increment(order.getUser().getId(), productIds.toArray(Long[]::new));
+            evictAfterCompletion(order.getUser().getId());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCancelled(Order order) {
+        List<Long> productIds = productIds(order);
+        if (!productIds.isEmpty()) {
+            purchaseRepository.decrement(order.getUser().getId(), productIds);
+            evictAfterCompletion(order.getUser().getId());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Order order, OrderStatus previous) {
+        boolean wasPurchased = previous.countsAsPurchase();
+        boolean isPurchased = order.getOrderStatus().countsAsPurchase();
+        if (wasPurchased && !isPurchased) {
+            orderCancelled(order);
+        } else if (!wasPurchased && isPurchased) {
+            orderPlaced(order);
+        }
+    }
+
+    public int rebuild() {
+        int rows = purchaseRepository.rebuild();
+        recentUsers.invalidateAll();
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    private void evictAfterCompletion(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                recentUsers.invalidate(userId);
+            }
+        });
+    }
+
+    private List<Long> productIds(Order order) {
+        return order.getItems().stream()
+                .map(OrderItem::getProductId)
+                .filter(id -> id != null)
+                .distinct()
+                .toList();
+    }
+}
@@ -2,14 +2,14 @@ package com.ecommerce.ecommerce_backend.service;
 
 import com.ecommerce.ecommerce_backend.dto.ReviewDto;
 import com.ecommerce.ecommerce_backend.entity.Review;
-import org.springframework.security.core.Authentication;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
 
 import java.util.List;
 
 public interface ReviewService {
-    ReviewDto addReview(Long productId, int rating, String comment, Authentication authentication);
-    List<ReviewDto> getProductReviews(Long productId, Authentication authentication);
-    ReviewDto approveReview(Long reviewId, Authentication authentication);
-    void deleteReview(Long reviewId, Authentication authentication);
-    ReviewDto editReview(Long reviewId, int rating, String comment, Authentication authentication);
+    ReviewDto addReview(Long productId, int rating, String comment, CurrentUser currentUser);
+    List<ReviewDto> getProductReviews(Long productId, CurrentUser currentUser);
+    ReviewDto approveReview(Long reviewId, CurrentUser currentUser);
+    void deleteReview(Long reviewId, CurrentUser currentUser);
+    ReviewDto editReview(Long reviewId, int rating, String comment, CurrentUser currentUser);
 }
@@ -0,0 +1,186 @@
+package com.ecommerce.ecommerce_backend.service.impl;
+
+import com.ecommerce.ecommerce_backend.dto.CursorPage;
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.dto.ProductPageRequest;
+import com.ecommerce.ecommerce_backend.entity.Product;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+class ProductKeyset {
+    static final String RELEVANCE = "relevance";
+
+    enum Field {
+        ID("id"),
+        PRICE("price"),
+        NAME("name"),
+        RATING("averageRating");
+
+        final String attribute;
+
+        Field(String attribute) {
+            this.attribute = attribute;
+        }
+
+        Comparable<?> valueOf(ProductDto product) {
+            return switch (this) {
+                case ID -> product.getId();
+                case PRICE -> product.getPrice();
+                case NAME -> product.getName();
+                case RATING -> product.getAverageRating();
+            };
+        }
+
+        Comparable<?> parse(String value) {
+            return switch (this) {
+                case ID -> Long.valueOf(value);
+                case PRICE, RATING -> Double.valueOf(value);
+                case NAME -> value;
+            };
+        }
+    }
+
+    private final Field field;
+    private final boolean ascending;
+    private final int size;
+    private final Long afterId;
+    private final Comparable<?> afterValue;
+
+    private ProductKeyset(Field field, boolean ascending, int size, Long afterId, Comparable<?> afterValue) {
+        this.field = field;
+        this.ascending = ascending;
+        this.size = size;
+        this.afterId = afterId;
+        this.afterValue = afterValue;
+    }
+
+    static ProductKeyset of(ProductPageRequest request) {
+        Field field = parseField(request.getSort());
+        boolean ascending = parseDirection(request.getDirection());
+        int size = CursorPage.validateSize(request.getSize());
+        if (request.getCursor() == null || request.getCursor().isBlank()) {
+            return new ProductKeyset(field, ascending, size, null, null);
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(request.getCursor()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = decoded.split("\\|", 4);
+        if (parts.length != 4 || !parts[0].equals(field.name()) || parseDirection(parts[1]) != ascending) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        try {
+            return new ProductKeyset(field, ascending, size, Long.valueOf(parts[2]), field.parse(parts[3]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    int fetchSize() {
+        return size + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Sort sort() {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return field == Field.ID
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, field.attribute).and(Sort.by(direction, "id"));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Specification<Product> after() {
+        if (afterId == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate idBeyond = ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+            if (field == Field.ID) {
+                return idBeyond;
+            }
+            Path<Comparable> key = root.get(field.attribute);
+            Comparable value = afterValue;
+            Predicate keyBeyond = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            return cb.or(keyBeyond, cb.and(cb.equal(key, value), idBeyond));
+        };
+    }
+
+    /** Sort key of the row this page starts after, in {@link #sort()} order, or null on the first page. */
+    List<Object> afterKey() {
+        if (afterId == null) {
+            return null;
+        }
+        return field == Field.ID ? List.of(afterId) : List.of(afterValue, afterId);
+    }
+
+    String cursorAfter(ProductDto last) {
+        String raw = field.name() + "|" + (ascending ? "asc" : "desc") + "|" + last.getId() + "|" + field.valueOf(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static boolean isRelevance(ProductPageRequest request) {
+        return request.getSort() == null || request.getSort().isBlank()
+                || RELEVANCE.equalsIgnoreCase(request.getSort().trim());
+    }
+
+    static int rankOffset(ProductPageRequest request) {
+        CursorPage.validateSize(request.getSize());
+        if (request.getCursor() == null || request.getCursor().isBlank()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(request.getCursor()), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 2);
+            if (parts.length != 2 || !parts[0].equals(RELEVANCE)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            int offset = Integer.parseInt(parts[1]);
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    static String rankCursor(int offset) {
+        String raw = RELEVANCE + "|" + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Field parseField(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Field.ID;
+        }
+        try {
+            return Field.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+    }
+
+    private static boolean parseDirection(String direction) {
+        if (direction == null || direction.isBlank() || direction.equalsIgnoreCase("asc")) {
+            return true;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported direction: " + direction);
+    }
+}
@@ -1,62 +1,104 @@
 package com.ecommerce.ecommerce_backend.service.impl;
 
+import com.ecommerce.ecommerce_backend.cache.ProductCache;
+import com.ecommerce.ecommerce_backend.dto.CursorPage;
+import com.ecommerce.ecommerce_backend.dto.FacetedPage;
 import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.dto.ProductFacets;
+import com.ecommerce.ecommerce_backend.dto.ProductFilter;
+import com.ecommerce.ecommerce_backend.dto.ProductPageRequest;
 import com.ecommerce.ecommerce_backend.entity.Category;
 import com.ecommerce.ecommerce_backend.entity.Product;
-import com.ecommerce.ecommerce_backend.entity.Review;
+import com.ecommerce.ecommerce_backend.event.ProductChangedEvent;
 import com.ecommerce.ecommerce_backend.repository.CategoryRepository;
 import com.ecommerce.ecommerce_backend.repository.ProductRepository;
-import com.ecommerce.ecommerce_backend.repository.ReviewRepository;
+import com.ecommerce.ecommerce_backend.search.ProductSearchIndex;
 import com.ecommerce.ecommerce_backend.service.ProductService;
+import jakarta.persistence.criteria.Predicate;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 @Transactional
 public class ProductServiceImpl implements ProductService {
-
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
-    private final ReviewRepository reviewRepository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductCache productCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public List<ProductDto> getAllProducts() {
-        List<Product> products = productRepository.findAll();
-        products.forEach(this::setAverageRating);
-        return products.stream().map(this::convertToDto).toList();
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> getAllProducts(ProductPageRequest pageRequest) {
+        return findPage(null, pageRequest);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<ProductDto> getProductById(Long id) {
         validateId(id);
-        return productRepository.findById(id)
-                        .map(product -> {
-                            setAverageRating(product);
-                            return convertToDto(product);
-                        });
+        return productCache.get(id, key -> productRepository.findDtoById(key).orElse(null));
     }
 
     @Override
-    public List<ProductDto> searchProducts(String query) {
-        List<Product> products = (query == null || query.trim().isEmpty()) ?
-                productRepository.findAll() :
-                productRepository.findByNameContainingIgnoreCase(query);
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> searchProducts(String query, ProductPageRequest pageRequest) {
+        if (query == null || query.trim().isEmpty()) {
+            return findPage(null, pageRequest);
+        }
+
+        if (!ProductKeyset.isRelevance(pageRequest)) {
+            return findMatchPage(searchIndex.matches(query), pageRequest);
+        }
 
-        products.forEach(this::setAverageRating);
-        return products.stream().map(this::convertToDto).toList();
+        int offset = ProductKeyset.rankOffset(pageRequest);
+        List<Long> matches = searchIndex.search(query, (int) Math.min((long) offset + pageRequest.getSize() + 1, Integer.MAX_VALUE));
+        int end = Math.min(offset + pageRequest.getSize(), matches.size());
+        if (offset >= end) {
+            return new CursorPage<>(List.of(), null);
+        }
+        List<Long> pageIds = matches.subList(offset, end);
+        Map<Long, ProductDto> byId = productRepository
+                .findDtos((root, q, cb) -> root.get("id").in(pageIds), Sort.unsorted(), pageIds.size())
+                .stream()
+                .collect(Collectors.toMap(ProductDto::getId, Function.identity()));
+        List<ProductDto> items = pageIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new CursorPage<>(items, end < matches.size() ? ProductKeyset.rankCursor(end) : null);
     }
 
     @Override
-    public List<ProductDto> getProductsByCategory(Long categoryId) {
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> getProductsByCategory(Long categoryId, ProductPageRequest pageRequest) {
         validateId(categoryId);
-        List<Product> products = productRepository.findByCategoryId(categoryId);
-        products.forEach(this::setAverageRating);
-        return products.stream().map(this::convertToDto).toList();
+        Specification<Product> filter = (root, q, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+        return findPage(filter, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetedPage<ProductDto> filterProducts(ProductFilter filter, ProductPageRequest pageRequest) {
+        validateFilter(filter);
+        CursorPage<ProductDto> page = findPage(filterSpec(filter), pageRequest);
+        boolean firstPage = pageRequest.getCursor() == null || pageRequest.getCursor().isBlank();
+        ProductFacets facets = firstPage ? productRepository.findFacets(filter) : null;
+        return new FacetedPage<>(page.getItems(), page.getNextCursor(), facets);
     }
 
     @Override
@@ -67,9 +109,13 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new IllegalStateException("Category with ID " + categoryId + " not found"));
 
         product.setCategory(category);
+        product.setRatingCount(0);
+        product.setRatingSum(0);
+        product.setAverageRating(0);
         Product saved = productRepository.save(product);
-        setAverageRating(saved);
-        return convertToDto(saved);
+        ProductDto dto = convertToDto(saved);
+        eventPublisher.publishEvent(ProductChangedEvent.created(dto));
+        return dto;
     }
 
     @Override
@@ -77,13 +123,19 @@ public class ProductServiceImpl implements ProductService {
         validateId(id);
         validateProduct(product);
 
-        if (!productRepository.existsById(id)) {
-            throw new IllegalStateException("Product with ID " + id + " not found");
-        }
+        Product existing = productRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Product with ID " + id + " not found"));
         product.setId(id);
+        product.setRatingCount(existing.getRatingCount());
+        product.setRatingSum(existing.getRatingSum());
+        product.setAverageRating(existing.getAverageRating());
+        if (product.getCategory() == null) {
+            product.setCategory(existing.getCategory());
+        }
         Product saved = productRepository.save(product);
-        setAverageRating(saved);
-        return convertToDto(saved);
+        ProductDto dto = convertToDto(saved);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(dto));
+        return dto;
     }
 
     @Override
@@ -93,6 +145,60 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalStateException("Product with ID " + id + " not found");
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+    }
+
+    private CursorPage<ProductDto> findPage(Specification<Product> filter, ProductPageRequest pageRequest) {
+        ProductKeyset keyset = ProductKeyset.of(pageRequest);
+        Specification<Product> spec = Specification.where(filter).and(keyset.after());
+        return toPage(keyset, productRepository.findDtos(spec, keyset.sort(), keyset.fetchSize()));
+    }
+
+    private CursorPage<ProductDto> findMatchPage(Set<Long> matches, ProductPageRequest pageRequest) {
+        ProductKeyset keyset = ProductKeyset.of(pageRequest);
+        return toPage(keyset, productRepository.findDtosAmong(matches, keyset.sort(), keyset.afterKey(), keyset.fetchSize()));
+    }
+
+    private CursorPage<ProductDto> toPage(ProductKeyset keyset, List<ProductDto> products) {
+        String nextCursor = null;
+        if (products.size() > keyset.size()) {
+            products = products.subList(0, keyset.size());
+            nextCursor = keyset.cursorAfter(products.get(products.size() - 1));
+        }
+        return new CursorPage<>(products, nextCursor);
+    }
+
+    private Specification<Product> filterSpec(ProductFilter filter) {
+        return (root, q, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getMinRating() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("averageRating"), filter.getMinRating()));
+            }
+            if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+                predicates.add(root.get("category").get("id").in(filter.getCategoryIds()));
+            }
+            if (filter.getInStock() != null) {
+                predicates.add(filter.getInStock()
+                        ? cb.greaterThan(root.get("stock"), 0)
+                        : cb.lessThanOrEqualTo(root.get("stock"), 0));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private void validateFilter(ProductFilter filter) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new IllegalArgumentException("minPrice cannot be greater than maxPrice");
+        }
+        if (filter.getMinRating() != null && (filter.getMinRating() < 0 || filter.getMinRating() > 5)) {
+            throw new IllegalArgumentException("minRating must be between 0 and 5");
+        }
     }
 
     private void validateId(Long id) {
@@ -107,15 +213,6 @@ public class ProductServiceImpl implements ProductService {
         }
     }
 
-    private void setAverageRating(Product product) {
-        List<Review> reviews = reviewRepository.findByProductId(product.getId());
-        double avgRating = reviews.isEmpty() ? 0 : reviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0);
-        product.setAverageRating(avgRating);
-    }
-
     private ProductDto convertToDto(Product product) {
         ProductDto dto = new ProductDto();
         dto.setId(product.getId());
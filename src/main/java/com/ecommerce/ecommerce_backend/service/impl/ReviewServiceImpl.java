@@ -3,14 +3,13 @@ package com.ecommerce.ecommerce_backend.service.impl;
 import com.ecommerce.ecommerce_backend.dto.ReviewDto;
 import com.ecommerce.ecommerce_backend.entity.Product;
 import com.ecommerce.ecommerce_backend.entity.Review;
-import com.ecommerce.ecommerce_backend.entity.User;
-import com.ecommerce.ecommerce_backend.repository.OrderRepository;
 import com.ecommerce.ecommerce_backend.repository.ProductRepository;
 import com.ecommerce.ecommerce_backend.repository.ReviewRepository;
-import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
+import com.ecommerce.ecommerce_backend.service.ProductRatingService;
+import com.ecommerce.ecommerce_backend.service.PurchaseIndex;
 import com.ecommerce.ecommerce_backend.service.ReviewService;
 import lombok.AllArgsConstructor;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,45 +23,34 @@ import java.util.stream.Collectors;
 public class ReviewServiceImpl implements ReviewService {
 
     private final ReviewRepository reviewRepository;
-    private final UserRepository userRepository;
     private final ProductRepository productRepository;
-    private final OrderRepository orderRepository;
+    private final PurchaseIndex purchaseIndex;
+    private final ProductRatingService productRatingService;
 
     @Override
-    public ReviewDto addReview(Long productId, int rating, String comment, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
+    public ReviewDto addReview(Long productId, int rating, String comment, CurrentUser currentUser) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
-        boolean hasOrdered = orderRepository.findByUserId(user.getId()).stream()
-                .flatMap(order -> order.getItems().stream())
-                .anyMatch(item -> item.getProduct().getId().equals(productId));
-        if (!hasOrdered) {
+        if (!purchaseIndex.hasPurchased(currentUser.id(), productId)) {
             throw new RuntimeException("You can only review products you have purchased");
         }
 
-        if (reviewRepository.existsByUserIdAndProductId(user.getId(), productId)) {
+        if (reviewRepository.existsByUserIdAndProductId(currentUser.id(), productId)) {
             throw new RuntimeException("You have already reviewed this product");
         }
 
-        Review review = new Review(product, user, rating, comment);
-        return convertToDto(reviewRepository.save(review));
+        Review review = new Review(product, currentUser.toUser(), rating, comment);
+        Review saved = reviewRepository.save(review);
+        productRatingService.reviewAdded(productId, rating);
+        return convertToDto(saved);
     }
 
     @Override
-    public List<ReviewDto> getProductReviews(Long productId, Authentication authentication) {
+    public List<ReviewDto> getProductReviews(Long productId, CurrentUser currentUser) {
         List<Review> reviews = reviewRepository.findByProductId(productId);
 
-        final boolean isAdmin;
-        if (authentication != null) {
-            User user = userRepository.findByUsername(authentication.getName()).orElse(null);
-            isAdmin = user != null && "ADMIN".equals(user.getRole());
-        } else {
-            isAdmin = false;
-        }
+        final boolean isAdmin = currentUser != null && currentUser.isAdmin();
 
         return reviews.stream()
                 .filter(r -> isAdmin || r.isApproved())
@@ -71,10 +59,8 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
-    public ReviewDto approveReview(Long reviewId, Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        if (!"ADMIN".equals(user.getRole())) {
+    public ReviewDto approveReview(Long reviewId, CurrentUser currentUser) {
+        if (!currentUser.isAdmin()) {
             throw new RuntimeException("Only admins can approve reviews");
         }
 
@@ -86,10 +72,8 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
-    public void deleteReview(Long reviewId, Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        if (!"ADMIN".equals(user.getRole())) {
+    public void deleteReview(Long reviewId, CurrentUser currentUser) {
+        if (!currentUser.isAdmin()) {
             throw new RuntimeException("Only admins can delete reviews");
         }
 
@@ -97,18 +81,15 @@ public class ReviewServiceImpl implements ReviewService {
                 .orElseThrow(() -> new RuntimeException("Review not found"));
 
         reviewRepository.delete(review);
+        productRatingService.reviewRemoved(review.getProduct().getId(), review.getRating());
     }
 
     @Override
-    public ReviewDto editReview(Long reviewId, int rating, String comment, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
+    public ReviewDto editReview(Long reviewId, int rating, String comment, CurrentUser currentUser) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
 
-        if (!review.getUser().getId().equals(user.getId())) {
+        if (!review.getUser().getId().equals(currentUser.id())) {
             throw new RuntimeException("You can only edit your own reviews");
         }
 
@@ -116,9 +97,12 @@ public class ReviewServiceImpl implements ReviewService {
             throw new RuntimeException("Reviews can only be edited within 24 hours of submission");
         }
 
+        int oldRating = review.getRating();
         review.setRating(rating);
         review.setComment(comment);
-        return convertToDto(reviewRepository.save(review));
+        Review saved = reviewRepository.save(review);
+        productRatingService.reviewEdited(review.getProduct().getId(), oldRating, rating);
+        return convertToDto(saved);
     }
 
     private ReviewDto convertToDto(Review review) {
@@ -1,6 +1,8 @@
 package com.ecommerce.ecommerce_backend.utils;
 
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -11,44 +13,29 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     private final String SECRET = "your-256-bit-secret-your-256-bit-secret";
     private final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser jwtParser = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
     private long JWT_EXPIRATION = 1000 * 60 * 60;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
     public Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public CurrentUser authenticate(Claims claims) {
+        return new CurrentUser(claims.get("uid", Long.class), claims.getSubject(),
+                claims.get("role", String.class), claims.get("email", String.class));
     }
 
-    public String generateToken(String username, String role) {
+    public String generateToken(CurrentUser user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
-        return createToken(claims, username);
+        claims.put("role", user.role());
+        claims.put("uid", user.id());
+        claims.put("email", user.email());
+        return createToken(claims, user.username());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -60,9 +47,4 @@ public class JwtUtil {
                 .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
                 .compact();
     }
-
-    public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
-    }
 }
@@ -0,0 +1,136 @@
+package com.ecommerce.ecommerce_backend.discount;
+
+import com.ecommerce.ecommerce_backend.Concurrently;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedemptionCounterTests {
+    private static final ToIntFunction<Long> NO_PRIOR_REDEMPTIONS = userId -> 0;
+
+    @Test
+    void globalCapStopsFurtherRedemptions() {
+        RedemptionCounter counter = new RedemptionCounter(0);
+
+        assertTrue(counter.tryAcquire(1L, 2, null, NO_PRIOR_REDEMPTIONS));
+        assertTrue(counter.tryAcquire(2L, 2, null, NO_PRIOR_REDEMPTIONS));
+        assertFalse(counter.tryAcquire(3L, 2, null, NO_PRIOR_REDEMPTIONS));
+        assertEquals(2, counter.redeemed());
+    }
+
+    @Test
+    void perUserCapRollsBackTheGlobalSlot() {
+        RedemptionCounter counter = new RedemptionCounter(0);
+
+        assertTrue(counter.tryAcquire(1L, 10, 1, NO_PRIOR_REDEMPTIONS));
+        assertFalse(counter.tryAcquire(1L, 10, 1, NO_PRIOR_REDEMPTIONS));
+
+        assertEquals(1, counter.redeemed());
+        assertTrue(counter.tryAcquire(2L, 10, 1, NO_PRIOR_REDEMPTIONS));
+    }
+
+    @Test
+    void perUserCountIsSeededFromStoredRedemptionsOnce() {
+        RedemptionCounter counter = new RedemptionCounter(5);
+        AtomicInteger lookups = new AtomicInteger();
+        ToIntFunction<Long> stored = userId -> {
+            lookups.incrementAndGet();
+            return 1;
+        };
+
+        assertTrue(counter.tryAcquire(1L, null, 2, stored));
+        assertFalse(counter.tryAcquire(1L, null, 2, stored));
+
+        assertEquals(1, lookups.get());
+        assertEquals(6, counter.redeemed());
+    }
+
+    @Test
+    void releaseReturnsBothTheGlobalAndPerUserSlot() {
+        RedemptionCounter counter = new RedemptionCounter(0);
+        assertTrue(counter.tryAcquire(1L, 1, 1, NO_PRIOR_REDEMPTIONS));
+
+        counter.release(1L);
+
+        assertEquals(0, counter.redeemed());
+        assertTrue(counter.tryAcquire(1L, 1, 1, NO_PRIOR_REDEMPTIONS));
+    }
+
+    @Test
+    void reinstateCountsAReleasedRedemptionAgain() {
+        RedemptionCounter counter = new RedemptionCounter(0);
+        assertTrue(counter.tryAcquire(1L, 1, 1, NO_PRIOR_REDEMPTIONS));
+        counter.release(1L);
+
+        counter.reinstate(1L);
+
+        assertEquals(1, counter.redeemed());
+        assertFalse(counter.tryAcquire(1L, 2, 1, NO_PRIOR_REDEMPTIONS));
+    }
+
+    @Test
+    void canAcquireDoesNotConsumeASlot() {
+        RedemptionCounter counter = new RedemptionCounter(0);
+
+        assertTrue(counter.canAcquire(1L, 1, 1, NO_PRIOR_REDEMPTIONS));
+        assertTrue(counter.canAcquire(1L, 1, 1, NO_PRIOR_REDEMPTIONS));
+        assertEquals(0, counter.redeemed());
+
+        assertTrue(counter.tryAcquire(1L, 1, 1, NO_PRIOR_REDEMPTIONS));
+        assertFalse(counter.canAcquire(2L, 1, null, NO_PRIOR_REDEMPTIONS));
+    }
+
+    @Test
+    void committedRedemptionsDrainOnce() {
+        RedemptionCounter counter = new RedemptionCounter(0);
+        counter.committed(1);
+        counter.committed(2);
+
+        assertEquals(3, counter.drainUnflushed());
+        assertEquals(0, counter.drainUnflushed());
+    }
+
+    @Test
+    void contendedRedemptionsNeverExceedTheGlobalCap() throws Exception {
+        int maxUses = 100;
+        RedemptionCounter counter = new RedemptionCounter(0);
+        AtomicInteger nextUser = new AtomicInteger();
+
+        List<Integer> granted = Concurrently.run(() -> {
+            int mine = 0;
+            for (int i = 0; i < 50; i++) {
+                if (counter.tryAcquire((long) nextUser.incrementAndGet(), maxUses, 1, NO_PRIOR_REDEMPTIONS)) {
+                    mine++;
+                }
+            }
+            return mine;
+        });
+
+        assertEquals(maxUses, granted.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(maxUses, counter.redeemed());
+    }
+
+    @Test
+    void contendedRedemptionsBySameUserHonourThePerUserCap() throws Exception {
+        RedemptionCounter counter = new RedemptionCounter(0);
+
+        List<Integer> granted = Concurrently.run(() -> {
+            int mine = 0;
+            for (int i = 0; i < 1_000; i++) {
+                if (counter.tryAcquire(1L, null, 3, NO_PRIOR_REDEMPTIONS)) {
+                    mine++;
+                }
+            }
+            return mine;
+        });
+
+        assertEquals(3, granted.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(3, counter.redeemed());
+    }
+}
@@ -0,0 +1,151 @@
+package com.ecommerce.ecommerce_backend.inventory;
+
+import com.ecommerce.ecommerce_backend.entity.Category;
+import com.ecommerce.ecommerce_backend.entity.Product;
+import com.ecommerce.ecommerce_backend.entity.User;
+import com.ecommerce.ecommerce_backend.repository.ProductRepository;
+import com.ecommerce.ecommerce_backend.repository.UserRepository;
+import com.ecommerce.ecommerce_backend.security.CurrentUser;
+import com.ecommerce.ecommerce_backend.service.CartService;
+import com.ecommerce.ecommerce_backend.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.default_schema=flash_sale_test",
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+        "spring.datasource.hikari.connection-init-sql=SET search_path TO flash_sale_test",
+        "payment.gateway=stub",
+        "payment.stub.latency=PT0S",
+        "payment.bulkhead.max-concurrent-calls=64",
+        "outbox.dispatch.interval-ms=3600000"
+})
+class FlashSaleBenchmarkTests {
+    private static final Logger log = LoggerFactory.getLogger(FlashSaleBenchmarkTests.class);
+
+    private static final int THREADS = 16;
+    private static final int BUYERS = 400;
+    private static final int STOCK = 150;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void rowUpdateCheckoutSellsExactlyTheAvailableStock() throws InterruptedException {
+        Long productId = createProduct("flash-sale-regular");
+        checkout("row update", productId, createBuyers("regular", productId));
+    }
+
+    @Test
+    void hotCounterCheckoutSellsExactlyTheAvailableStock() throws InterruptedException {
+        Long productId = createProduct("flash-sale-hot");
+        List<CurrentUser> buyers = createBuyers("hot", productId);
+        inventoryService.enableHotMode(productId);
+        try {
+            checkout("striped counter", productId, buyers);
+        } finally {
+            inventoryService.disableHotMode(productId);
+        }
+    }
+
+    private void checkout(String mode, Long productId, List<CurrentUser> buyers) throws InterruptedException {
+        Queue<CurrentUser> queue = new ConcurrentLinkedQueue<>(buyers);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        Queue<RuntimeException> unexpected = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                start.await();
+                CurrentUser buyer;
+                while ((buyer = queue.poll()) != null) {
+                    try {
+                        orderService.placeOrder(buyer, "pi_" + mode.replace(' ', '_') + "_" + buyer.id(), null, null);
+                        placed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        if (e.getMessage() != null && e.getMessage().startsWith("Insufficient stock")) {
+                            soldOut.incrementAndGet();
+                        } else {
+                            unexpected.add(e);
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES), "checkout did not finish");
+        double seconds = (System.nanoTime() - started) / 1e9;
+        inventoryService.flush();
+
+        int stock = productRepository.findById(productId).orElseThrow().getStock();
+        log.info("{}: {} checkouts in {} ms ({} orders/s), {} placed, {} sold out",
+                mode, buyers.size(), Math.round(seconds * 1000), Math.round(buyers.size() / seconds), placed.get(), soldOut.get());
+
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+        assertEquals(STOCK, placed.get());
+        assertEquals(buyers.size() - STOCK, soldOut.get());
+        assertEquals(0, stock);
+    }
+
+    private List<CurrentUser> createBuyers(String prefix, Long productId) {
+        List<CurrentUser> buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            User user = new User();
+            user.setUsername(prefix + "-buyer-" + i);
+            user.setPassword("x");
+            user.setRole("USER");
+            user.setEmail(prefix + "-buyer-" + i + "@example.com");
+            CurrentUser buyer = CurrentUser.of(userRepository.save(user));
+            cartService.addToCart(productId, 1, buyer);
+            buyers.add(buyer);
+        }
+        return buyers;
+    }
+
+    private Long createProduct(String name) {
+        Category category = new Category();
+        category.setName(name);
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(1);
+        product.setStock(STOCK);
+        product.setCategory(category);
+        return productRepository.save(product).getId();
+    }
+}
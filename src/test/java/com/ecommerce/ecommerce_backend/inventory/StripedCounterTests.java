@@ -0,0 +1,95 @@
+package com.ecommerce.ecommerce_backend.inventory;
+
+import com.ecommerce.ecommerce_backend.Concurrently;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedCounterTests {
+    @Test
+    void seedSpreadsStockAcrossStripes() {
+        StripedCounter counter = seeded(4, 10);
+
+        assertEquals(10, counter.available());
+    }
+
+    @Test
+    void acquisitionSpanningStripesTakesExactlyTheQuantity() {
+        StripedCounter counter = seeded(4, 8);
+
+        assertTrue(counter.tryAcquire(5));
+        assertEquals(3, counter.available());
+    }
+
+    @Test
+    void failedAcquisitionReturnsWhatItTookFromOtherStripes() {
+        StripedCounter counter = seeded(4, 8);
+        assertTrue(counter.tryAcquire(5));
+
+        assertFalse(counter.tryAcquire(4));
+        assertEquals(3, counter.available());
+        assertTrue(counter.tryAcquire(3));
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    void resetReplacesTheAvailableStock() {
+        StripedCounter counter = seeded(4, 8);
+        counter.tryAcquire(6);
+
+        counter.reset(() -> 20);
+
+        assertEquals(20, counter.available());
+    }
+
+    @Test
+    void contendedAcquisitionNeverOversells() throws Exception {
+        int stock = 1_000;
+        StripedCounter counter = seeded(8, stock);
+
+        List<Integer> sold = Concurrently.run(() -> {
+            int mine = 0;
+            int quantity = 1;
+            while (true) {
+                if (counter.tryAcquire(quantity)) {
+                    mine += quantity;
+                    quantity = quantity % 3 + 1;
+                } else if (counter.tryAcquire(1)) {
+                    mine += 1;
+                } else {
+                    return mine;
+                }
+            }
+        });
+
+        assertEquals(0, counter.available());
+        assertEquals(stock, sold.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void contendedAcquireAndReleaseKeepTheTotal() throws Exception {
+        int stock = 64;
+        StripedCounter counter = seeded(8, stock);
+
+        Concurrently.run(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                if (counter.tryAcquire(2)) {
+                    counter.release(2);
+                }
+            }
+            return 0;
+        });
+
+        assertEquals(stock, counter.available());
+    }
+
+    private static StripedCounter seeded(int stripes, int stock) {
+        StripedCounter counter = new StripedCounter(stripes);
+        counter.seed(stock);
+        return counter;
+    }
+}
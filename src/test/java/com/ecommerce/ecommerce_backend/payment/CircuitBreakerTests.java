@@ -0,0 +1,103 @@
+package com.ecommerce.ecommerce_backend.payment;
+
+import com.ecommerce.ecommerce_backend.Concurrently;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTests {
+    private static final Duration LONG_OPEN = Duration.ofHours(1);
+    private static final Duration SHORT_OPEN = Duration.ofMillis(100);
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(3, LONG_OPEN);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker(2, LONG_OPEN);
+
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    void halfOpenAdmitsOneProbeAndClosesOnSuccess() throws Exception {
+        CircuitBreaker breaker = openBreaker();
+        assertFalse(breaker.tryAcquire());
+
+        awaitOpenWindow();
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbeReopensForAFullWindow() throws Exception {
+        CircuitBreaker breaker = openBreaker();
+        awaitOpenWindow();
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+        awaitOpenWindow();
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void rejectedProbeFreesTheSlotForAnotherCaller() throws Exception {
+        CircuitBreaker breaker = openBreaker();
+        awaitOpenWindow();
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onRejected();
+
+        assertTrue(breaker.isOpen());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void concurrentCallersGetExactlyOneProbe() throws Exception {
+        CircuitBreaker breaker = openBreaker();
+        awaitOpenWindow();
+
+        List<Boolean> attempts = Concurrently.run(breaker::tryAcquire);
+
+        assertEquals(1, attempts.stream().filter(Boolean::booleanValue).count());
+    }
+
+    private static CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(1, SHORT_OPEN);
+        breaker.onFailure();
+        assertTrue(breaker.isOpen());
+        return breaker;
+    }
+
+    private static void awaitOpenWindow() throws InterruptedException {
+        Thread.sleep(SHORT_OPEN.toMillis() + 50);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailServiceTests {
+    private final RecordingMailSender mailSender = new RecordingMailSender();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmailService emailService;
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        mailSender.open();
+        if (emailService != null) {
+            emailService.shutdown();
+        }
+    }
+
+    @Test
+    void queuedMessagesShareSmtpSessionsUpToTheBatchSize() {
+        emailService = new EmailService(mailSender, meterRegistry, "shop@example.com", 1_000, 50, 1);
+        mailSender.hold();
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            results.add(emailService.submit("customer" + i + "@example.com", "Order", "Body " + i));
+        }
+        mailSender.open();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(300, mailSender.sent());
+        assertTrue(mailSender.sessions().size() < 300, "messages were not batched");
+        mailSender.sessions().forEach(session -> assertTrue(session.size() <= 50));
+        assertEquals(300, meterRegistry.counter("mail.dispatch.sent").count());
+        assertEquals(mailSender.sessions().size(), meterRegistry.summary("mail.dispatch.batch.size").count());
+        SimpleMailMessage first = mailSender.sessions().get(0).get(0);
+        assertEquals("shop@example.com", first.getFrom());
+    }
+
+    @Test
+    void rejectedRecipientFailsOnlyItsOwnMessage() {
+        emailService = new EmailService(mailSender, meterRegistry, "shop@example.com", 100, 50, 1);
+        mailSender.reject("bounce@example.com");
+        mailSender.hold();
+
+        CompletableFuture<Void> good = emailService.submit("good@example.com", "Order", "Body");
+        CompletableFuture<Void> bounced = emailService.submit("bounce@example.com", "Order", "Body");
+        CompletableFuture<Void> alsoGood = emailService.submit("other@example.com", "Order", "Body");
+        mailSender.open();
+
+        good.join();
+        alsoGood.join();
+        CompletionException failure = assertThrows(CompletionException.class, bounced::join);
+        assertInstanceOf(MailSendException.class, failure.getCause());
+        assertEquals(2, meterRegistry.counter("mail.dispatch.sent").count());
+        assertEquals(1, meterRegistry.counter("mail.dispatch.failed").count());
+    }
+
+    @Test
+    void failedSessionFailsEveryMessageInTheBatch() {
+        emailService = new EmailService(mailSender, meterRegistry, "shop@example.com", 100, 50, 1);
+        mailSender.serverDown();
+
+        CompletableFuture<Void> first = emailService.submit("a@example.com", "Order", "Body");
+        CompletableFuture<Void> second = emailService.submit("b@example.com", "Order", "Body");
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+        assertEquals(2, meterRegistry.counter("mail.dispatch.failed").count());
+    }
+
+    @Test
+    void fullQueueRejectsInsteadOfBlocking() throws Exception {
+        emailService = new EmailService(mailSender, meterRegistry, "shop@example.com", 1, 1, 1);
+        mailSender.hold();
+
+        CompletableFuture<Void> inFlight = emailService.submit("a@example.com", "Order", "Body");
+        awaitSessionStarted();
+        CompletableFuture<Void> queued = emailService.submit("b@example.com", "Order", "Body");
+        CompletableFuture<Void> overflow = emailService.submit("c@example.com", "Order", "Body");
+
+        CompletionException failure = assertThrows(CompletionException.class, overflow::join);
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertEquals(1, meterRegistry.counter("mail.dispatch.rejected").count());
+
+        mailSender.open();
+        inFlight.join();
+        queued.join();
+    }
+
+    private void awaitSessionStarted() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.summary("mail.dispatch.batch.size").count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderKeyConstraintsTests {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OrderKeyConstraints constraints = new OrderKeyConstraints(jdbcTemplate);
+
+    @Test
+    void existingConstraintsAreLeftAlone() {
+        uniqueIndexes("payment_intent_id", 1);
+        uniqueIndexes("idempotency_key", 1);
+
+        constraints.verifyOnStartup();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void missingConstraintIsCreatedWhenTheColumnHasNoDuplicates() {
+        uniqueIndexes("payment_intent_id", 0);
+        uniqueIndexes("idempotency_key", 1);
+        duplicates("payment_intent_id", 0);
+
+        constraints.verifyOnStartup();
+
+        verify(jdbcTemplate).execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_orders_payment_intent_id ON orders (payment_intent_id)");
+    }
+
+    @Test
+    void duplicatesBlockingTheConstraintFailStartup() {
+        uniqueIndexes("payment_intent_id", 0);
+        duplicates("payment_intent_id", 3);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, constraints::verifyOnStartup);
+
+        assertTrue(failure.getMessage().contains("orders.payment_intent_id has 3 duplicated values"));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void dedupeRunsBeforeTheCheckWhenEnabled() {
+        ReflectionTestUtils.setField(constraints, "dedupeOnStartup", true);
+        uniqueIndexes("payment_intent_id", 0);
+        uniqueIndexes("idempotency_key", 1);
+        duplicates("payment_intent_id", 0);
+
+        constraints.verifyOnStartup();
+
+        verify(jdbcTemplate).update(startsWith("UPDATE orders o SET payment_intent_id = NULL"));
+        verify(jdbcTemplate).update(startsWith("UPDATE orders o SET idempotency_key = NULL"));
+        verify(jdbcTemplate).execute(contains("uk_orders_payment_intent_id"));
+    }
+
+    private void uniqueIndexes(String column, int count) {
+        when(jdbcTemplate.queryForObject(contains("pg_index"), eq(Integer.class), eq(column))).thenReturn(count);
+    }
+
+    private void duplicates(String column, int count) {
+        when(jdbcTemplate.queryForObject(contains("GROUP BY " + column), eq(Integer.class))).thenReturn(count);
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.entity.OutboxMessage;
+import com.ecommerce.ecommerce_backend.entity.OutboxStatus;
+import com.ecommerce.ecommerce_backend.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTests {
+    private static final int BATCH_SIZE = 100;
+
+    private final RecordingMailSender mailSender = new RecordingMailSender();
+    private final EmailService emailService =
+            new EmailService(mailSender, new SimpleMeterRegistry(), "shop@example.com", 1_000, 50, 2);
+    private final OutboxMessageRepository repository = mock(OutboxMessageRepository.class);
+    private final OutboxDispatcher dispatcher = new OutboxDispatcher(repository, emailService,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    OutboxDispatcherTests() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        emailService.shutdown();
+    }
+
+    @Test
+    void deliversEveryLeasedMessageInBatchedSessions() {
+        List<OutboxMessage> first = messages(1, BATCH_SIZE, 0);
+        List<OutboxMessage> second = messages(BATCH_SIZE + 1, 40, 0);
+        when(repository.leaseDue(any(), any(), anyInt())).thenReturn(first, second);
+
+        dispatcher.dispatch();
+
+        assertEquals(140, mailSender.sent());
+        assertTrue(mailSender.sessions().size() < 140, "messages were not batched");
+        verify(repository, times(2)).leaseDue(any(), any(), eq(BATCH_SIZE));
+        verify(repository).markSent(eq(ids(first)), any());
+        verify(repository).markSent(eq(ids(second)), any());
+        verify(repository, never()).scheduleRetry(any(), any(), anyString());
+    }
+
+    @Test
+    void routesEachFailedMessageToRetryOrFailure() {
+        List<OutboxMessage> batch = new ArrayList<>(messages(1, 3, 0));
+        OutboxMessage lastAttempt = message(4, 2);
+        OutboxMessage retry = batch.get(1);
+        batch.add(lastAttempt);
+        mailSender.reject(retry.getRecipient());
+        mailSender.reject(lastAttempt.getRecipient());
+        when(repository.leaseDue(any(), any(), anyInt())).thenReturn(batch);
+
+        dispatcher.dispatch();
+
+        verify(repository).markSent(eq(List.of(1L, 3L)), any());
+        verify(repository).scheduleRetry(eq(2L), any(LocalDateTime.class), eq("550 Mailbox unavailable"));
+        verify(repository).markFailed(4L, "550 Mailbox unavailable");
+    }
+
+    @Test
+    void unreachableServerSchedulesTheWholeBatchForRetry() {
+        mailSender.serverDown();
+        when(repository.leaseDue(any(), any(), anyInt())).thenReturn(messages(1, 2, 0));
+
+        dispatcher.dispatch();
+
+        verify(repository, never()).markSent(anyList(), any());
+        verify(repository).scheduleRetry(eq(1L), any(LocalDateTime.class), eq("Connection refused"));
+        verify(repository).scheduleRetry(eq(2L), any(LocalDateTime.class), eq("Connection refused"));
+    }
+
+    private static List<OutboxMessage> messages(long firstId, int count, int attempts) {
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (long id = firstId; id < firstId + count; id++) {
+            messages.add(message(id, attempts));
+        }
+        return messages;
+    }
+
+    private static OutboxMessage message(long id, int attempts) {
+        OutboxMessage message = new OutboxMessage();
+        message.setId(id);
+        message.setDedupKey("test:" + id);
+        message.setRecipient("customer" + id + "@example.com");
+        message.setSubject("Order Confirmation");
+        message.setBody("Thank you for your order! Order ID: " + id);
+        message.setStatus(OutboxStatus.PENDING);
+        message.setAttempts(attempts);
+        return message;
+    }
+
+    private static List<Long> ids(List<OutboxMessage> messages) {
+        return messages.stream().map(OutboxMessage::getId).toList();
+    }
+}
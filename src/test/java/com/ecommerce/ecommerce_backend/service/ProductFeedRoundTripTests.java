@@ -0,0 +1,165 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import com.ecommerce.ecommerce_backend.dto.ImportReport;
+import com.ecommerce.ecommerce_backend.dto.ProductDto;
+import com.ecommerce.ecommerce_backend.event.ProductsImportedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductFeedRoundTripTests {
+    private static final long CATEGORY_ID = 7L;
+    private static final String CATEGORY_NAME = "Shoes";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<ProductDto> catalog = List.of(
+            product(1L, "Runner", "Line one\nline two", null),
+            product(2L, "Trail, waterproof", "Says \"grippy\", mostly", "https://img/2.png"),
+            product(3L, "Court", "Windows line\r\nbreak", null),
+            product(4L, "Sandal", null, null));
+
+    @Test
+    void csvExportImportsBackUnchanged() throws Exception {
+        assertRoundTrip(ProductFeedFormat.CSV);
+    }
+
+    @Test
+    void ndjsonExportImportsBackUnchanged() throws Exception {
+        assertRoundTrip(ProductFeedFormat.NDJSON);
+    }
+
+    private void assertRoundTrip(ProductFeedFormat format) throws Exception {
+        String exported = export(format);
+
+        List<ProductsImportedEvent> events = new ArrayList<>();
+        ImportReport report = importer(events, 100).importProducts(new StringReader(exported), format);
+
+        assertTrue(report.getErrors().isEmpty(), () -> "Import failed: " + report.getErrors());
+        assertEquals(catalog.size(), report.getProcessed());
+        assertEquals(catalog.size(), report.getUpdated());
+        assertEquals(catalog, events.stream().flatMap(event -> event.getProducts().stream()).toList());
+    }
+
+    @Test
+    void publishesOneEventPerCommittedBatch() throws Exception {
+        List<ProductsImportedEvent> events = new ArrayList<>();
+        importer(events, 3).importProducts(new StringReader(export(ProductFeedFormat.NDJSON)), ProductFeedFormat.NDJSON);
+
+        assertEquals(List.of(3, 1), events.stream().map(event -> event.getProducts().size()).toList());
+    }
+
+    @Test
+    void missingHeaderColumnIsReportedInsteadOfThrown() throws Exception {
+        String feed = "id,name,price\n1,Runner,20.99\n";
+
+        List<ProductsImportedEvent> events = new ArrayList<>();
+        ImportReport report = importer(events, 100).importProducts(new StringReader(feed), ProductFeedFormat.CSV);
+
+        assertEquals(0, report.getProcessed());
+        assertEquals(1, report.getFailed());
+        assertEquals(new ImportReport.RowError(1, "CSV header is missing column: stock"), report.getErrors().get(0));
+        assertTrue(events.isEmpty());
+    }
+
+    private String export(ProductFeedFormat format) throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ProductDto product : catalog) {
+                handler.processRow(resultSet(product));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ProductExportService(jdbcTemplate, objectMapper).export(out, format);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProductImportService importer(List<ProductsImportedEvent> events, int batchSize) throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            Collection<Object> rows = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            for (Object row : rows) {
+                setter.setValues(mock(PreparedStatement.class), row);
+            }
+            int[] counts = new int[rows.size()];
+            Arrays.fill(counts, 1);
+            return new int[][]{counts};
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        ResultSet category = mock(ResultSet.class);
+        when(category.getLong("id")).thenReturn(CATEGORY_ID);
+        when(category.getString("name")).thenReturn(CATEGORY_NAME);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(2).processRow(category);
+            return null;
+        }).when(namedParameterJdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+
+        ApplicationEventPublisher eventPublisher = event -> {
+            if (event instanceof ProductsImportedEvent imported) {
+                events.add(imported);
+            }
+        };
+
+        ProductImportService service = new ProductImportService(jdbcTemplate, namedParameterJdbcTemplate,
+                transactionTemplate, eventPublisher, objectMapper);
+        ReflectionTestUtils.setField(service, "batchSize", batchSize);
+        return service;
+    }
+
+    private static ResultSet resultSet(ProductDto product) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(product.getId());
+        when(rs.getString("name")).thenReturn(product.getName());
+        when(rs.getString("description")).thenReturn(product.getDescription());
+        when(rs.getDouble("price")).thenReturn(product.getPrice());
+        when(rs.getInt("stock")).thenReturn(product.getStock());
+        when(rs.getString("image_url")).thenReturn(product.getImageUrl());
+        when(rs.getDouble("average_rating")).thenReturn(product.getAverageRating());
+        when(rs.getLong("category_id")).thenReturn(CATEGORY_ID);
+        when(rs.getString("category_name")).thenReturn(product.getCategoryName());
+        return rs;
+    }
+
+    private static ProductDto product(Long id, String name, String description, String imageUrl) {
+        return new ProductDto(id, name, description, 19.99 + id, 10 * id.intValue(), imageUrl, 0, CATEGORY_NAME);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.ecommerce_backend.service;
+
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process stand-in for the SMTP connection: records every {@code send(...)} call as one session
+ * and fails the messages addressed to rejected recipients the way JavaMailSenderImpl does.
+ */
+class RecordingMailSender extends JavaMailSenderImpl {
+    private final List<List<SimpleMailMessage>> sessions = new ArrayList<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private volatile boolean serverDown;
+
+    void reject(String recipient) {
+        rejectedRecipients.add(recipient);
+    }
+
+    void serverDown() {
+        serverDown = true;
+    }
+
+    void hold() {
+        gate = new CountDownLatch(1);
+    }
+
+    void open() {
+        gate.countDown();
+    }
+
+    synchronized List<List<SimpleMailMessage>> sessions() {
+        return List.copyOf(sessions);
+    }
+
+    synchronized int sent() {
+        return sessions.stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    public void send(SimpleMailMessage... messages) {
+        try {
+            gate.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (serverDown) {
+            throw new MailSendException("Connection refused");
+        }
+
+        Map<Object, Exception> failed = new LinkedHashMap<>();
+        List<SimpleMailMessage> delivered = new ArrayList<>();
+        for (SimpleMailMessage message : messages) {
+            if (Arrays.stream(message.getTo()).anyMatch(rejectedRecipients::contains)) {
+                failed.put(message, new MailSendException("550 Mailbox unavailable"));
+            } else {
+                delivered.add(message);
+            }
+        }
+        synchronized (this) {
+            sessions.add(delivered);
+        }
+        if (!failed.isEmpty()) {
+            throw new MailSendException(failed);
+        }
+    }
+}